@@ -0,0 +1,50 @@
+package com.tracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports milliseconds per BCrypt hash at each cost on the current hardware,
+ * to help choose auth.password.bcrypt-strength. Enabled with
+ * auth.password.calibrate-on-startup=true; adds a few seconds to startup.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.password.calibrate-on-startup", havingValue = "true")
+public class BcryptCalibration implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(BcryptCalibration.class);
+    
+    private static final int MIN_STRENGTH = 8;
+    private static final int SAMPLES = 3;
+    
+    @Value("${auth.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${auth.password.calibrate-max-strength:14}")
+    private int maxStrength;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        String sample = "calibration-password";
+        for (int strength = MIN_STRENGTH; strength <= maxStrength; strength++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            // Warm up once so the first sample doesn't include class loading and JIT
+            encoder.encode(sample);
+            
+            long start = System.nanoTime();
+            for (int i = 0; i < SAMPLES; i++) {
+                encoder.encode(sample);
+            }
+            double millisPerHash = (System.nanoTime() - start) / 1_000_000.0 / SAMPLES;
+            
+            log.info("BCrypt cost {}: {} ms/hash{}", strength, String.format("%.1f", millisPerHash),
+                    strength == bcryptStrength ? " (configured)" : "");
+        }
+    }
+}
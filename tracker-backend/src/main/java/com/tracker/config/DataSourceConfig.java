@@ -0,0 +1,47 @@
+package com.tracker.config;
+
+import com.tracker.util.TimedDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+    
+    /**
+     * Wraps the pooled DataSource so connections are only taken from the pool at the
+     * first statement rather than when a transaction begins: read-only service
+     * transactions answered from a cache never hold one. Each acquisition is timed
+     * and attributed to the repository method that issued that statement.
+     * Static so the post-processor is registered before the beans it wraps.
+     */
+    @Bean
+    public static BeanPostProcessor connectionAcquireTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    // Outermost advice, so the tag is set before the repository's own transaction begins
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0,
+                                    TimedDataSource.repositoryCallTagger(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+            
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy(new TimedDataSource(dataSource, meterRegistry.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -1,21 +1,40 @@
 package com.tracker.config;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
+    // The fields that never change, pre-encoded once; the trailing comma precedes "path"
+    private static final SerializableString FIXED_FIELDS = new SerializedString(
+            "\"status\":" + HttpServletResponse.SC_UNAUTHORIZED
+            + ",\"error\":\"Unauthorized\""
+            + ",\"message\":\"Authentication required to access this resource\",");
+
+    private static final SerializableString PATH = new SerializedString("path");
+
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write the 401 body straight to the response: only the request path and
+     * timestamp are encoded per call.
+     */
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
                         AuthenticationException authException) throws IOException, ServletException {
@@ -23,14 +42,14 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         
-        Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        body.put("error", "Unauthorized");
-        body.put("message", "Authentication required to access this resource");
-        body.put("path", request.getRequestURI());
-        body.put("timestamp", System.currentTimeMillis());
-        
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeRaw(FIXED_FIELDS);
+            generator.writeFieldName(PATH);
+            generator.writeString(request.getRequestURI());
+            generator.writeFieldName(TIMESTAMP);
+            generator.writeNumber(System.currentTimeMillis());
+            generator.writeEndObject();
+        }
     }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.tracker.config;
 
-import com.tracker.util.JwtUtil;
+import com.tracker.service.AuthMetrics;
+import com.tracker.util.DecodedToken;
+import com.tracker.util.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,12 +18,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    // Bad tokens are client input, often in bursts: log at most one line per interval
+    private static final long REJECTED_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicLong nextRejectedLog = new AtomicLong(System.nanoTime());
+
+    private final LongAdder rejectedSinceLog = new LongAdder();
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Autowired
-    private JwtUtil jwtUtil;
+    private AuthMetrics authMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -27,29 +46,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String requestTokenHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwtToken = null;
+        DecodedToken decodedToken = null;
         
         // JWT Token is in the form "Bearer token"
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                // Single signature check on a cache miss; expired tokens are rejected
+                decodedToken = authMetrics.time(AuthMetrics.Stage.TOKEN_VERIFY,
+                        () -> verifiedTokenCache.getOrDecode(jwtToken));
             } catch (Exception e) {
-                logger.error("JWT Token extraction failed", e);
+                logRejected(e);
             }
         }
         
         // Validate token
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwtToken, username)) {
-                UsernamePasswordAuthenticationToken authenticationToken = 
-                    new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }
+        if (decodedToken != null && decodedToken.getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authenticationToken = 
+                new UsernamePasswordAuthenticationToken(decodedToken, null, new ArrayList<>());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Log a rejected token without its stack trace, rate-limited, with the count since the last line
+     */
+    private void logRejected(Exception e) {
+        rejectedSinceLog.increment();
+        long now = System.nanoTime();
+        long logAt = nextRejectedLog.get();
+        if (now - logAt >= 0 && nextRejectedLog.compareAndSet(logAt, now + REJECTED_LOG_INTERVAL_NANOS)) {
+            log.warn("Rejected {} bearer token(s) since the last report, latest: {}: {}",
+                    rejectedSinceLog.sumThenReset(), e.getClass().getSimpleName(), e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.tracker.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.tracker.util.CountingAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingMetricsConfig {
+    
+    // Appender name in logback-spring.xml
+    private static final String ASYNC_APPENDER = "ASYNC";
+    
+    /**
+     * Drop count and queue depth of the async log appender, if logback-spring.xml is in use
+     */
+    @Bean
+    public MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)
+                    || !(context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER) instanceof CountingAsyncAppender appender)) {
+                return;
+            }
+            FunctionCounter.builder("logging.async.dropped", appender, CountingAsyncAppender::getDroppedCount)
+                    .description("Log events dropped because the async appender's queue was full")
+                    .register(registry);
+            Gauge.builder("logging.async.queued", appender, a -> a.getNumberOfElementsInQueue())
+                    .description("Log events waiting to be written")
+                    .register(registry);
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.tracker.config;
+
+import com.tracker.util.BoundedVirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PasswordHashingConfig {
+    
+    // 0 means one thread per available core
+    @Value("${auth.hashing.pool-size:0}")
+    private int poolSize;
+    
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Value("${auth.persistence.pool-size:10}")
+    private int persistencePoolSize;
+    
+    @Value("${auth.persistence.queue-capacity:256}")
+    private int persistenceQueueCapacity;
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    // Hikari's default when unset
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+    
+    /**
+     * Dedicated pool for BCrypt work so hashing never occupies servlet threads.
+     * A full queue rejects immediately instead of blocking the caller.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+    
+    /**
+     * Pool for the database work that follows a hash (user insert, refresh token issue),
+     * so blocking JDBC calls never hold a hashing thread. Sized around the connection pool.
+     * In virtual-thread mode each task gets its own virtual thread instead, at most one per
+     * pooled connection at a time, so JDBC waits don't tie up platform threads.
+     */
+    @Bean
+    public TaskExecutor authPersistenceExecutor() {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor("auth-persist-", connectionPoolSize, persistenceQueueCapacity);
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(persistencePoolSize);
+        executor.setMaxPoolSize(persistencePoolSize);
+        executor.setQueueCapacity(persistenceQueueCapacity);
+        executor.setThreadNamePrefix("auth-persist-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,12 @@
+package com.tracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance tasks (existence filter rebuilds)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,40 @@
+package com.tracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracker.service.AuthMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON converter that records response serialization under the auth.stage timer.
+ * Declaring it as a bean replaces Spring Boot's default Jackson converter, and it
+ * uses the same auto-configured ObjectMapper.
+ */
+@Component
+public class TimedJsonMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    public TimedJsonMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            authMetrics.timer(AuthMetrics.Stage.SERIALIZE).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class TokenIntrospectionConfig {
+    
+    // 0 means one thread per available core
+    @Value("${auth.introspect.pool-size:0}")
+    private int poolSize;
+    
+    @Value("${auth.introspect.queue-capacity:256}")
+    private int queueCapacity;
+    
+    /**
+     * Pool for verifying batches of tokens in parallel.
+     * A full queue rejects immediately instead of blocking the caller.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor tokenIntrospectionExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("token-introspect-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
\ No newline at end of file
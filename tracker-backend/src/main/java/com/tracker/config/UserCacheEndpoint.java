@@ -0,0 +1,27 @@
+package com.tracker.config;
+
+import com.tracker.service.UserCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint (/actuator/usercache) to inspect the user cache at runtime.
+ * Read-only over HTTP, where any logged-in user could reach it; resizing is only
+ * offered over JMX (see UserCacheJmxEndpointExtension).
+ */
+@Component
+@Endpoint(id = "usercache")
+public class UserCacheEndpoint {
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return userCache.stats();
+    }
+}
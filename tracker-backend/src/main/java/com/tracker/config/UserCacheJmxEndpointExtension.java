@@ -0,0 +1,36 @@
+package com.tracker.config;
+
+import com.tracker.service.UserCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * JMX-only operations of the usercache endpoint: resize the user cache at runtime.
+ * Needs spring.jmx.enabled=true, so it is only reachable by whoever can attach to the JVM.
+ */
+@Component
+@EndpointJmxExtension(endpoint = UserCacheEndpoint.class)
+public class UserCacheJmxEndpointExtension {
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return userCache.stats();
+    }
+    
+    @WriteOperation
+    public Map<String, Object> resize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+        userCache.resize(maximumSize);
+        return userCache.stats();
+    }
+}
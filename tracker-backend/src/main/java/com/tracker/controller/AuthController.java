@@ -1,11 +1,26 @@
 package com.tracker.controller;
 
 import com.tracker.dto.*;
-import com.tracker.entity.User;
+import com.tracker.service.AuthConcurrencyLimiter;
+import com.tracker.service.AuthMetrics;
+import com.tracker.service.AuthMetrics.Operation;
+import com.tracker.service.AuthMetrics.Outcome;
 import com.tracker.service.AuthService;
-import com.tracker.util.JwtUtil;
+import com.tracker.service.IdempotencyKeyReusedException;
+import com.tracker.service.PasswordResetService;
+import com.tracker.service.RateLimitExceededException;
+import com.tracker.service.RateLimitService;
+import com.tracker.service.RefreshTokenService;
+import com.tracker.service.RegistrationIdempotencyService;
+import com.tracker.service.TokenIntrospectionService;
+import com.tracker.service.TokenRevocationService;
+import com.tracker.util.DecodedToken;
+import com.tracker.util.VerifiedTokenCache;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -13,7 +28,11 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,7 +44,34 @@ public class AuthController {
     private AuthService authService;
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    @Autowired
+    private RateLimitService rateLimitService;
+    
+    @Autowired
+    private AuthConcurrencyLimiter authConcurrencyLimiter;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+    
+    @Autowired
+    private PasswordResetService passwordResetService;
+    
+    @Autowired
+    private RegistrationIdempotencyService registrationIdempotencyService;
+    
+    @Value("${auth.introspect.max-batch-size:100}")
+    private int introspectMaxBatchSize;
     
     /**
      * Health check endpoint
@@ -36,58 +82,111 @@ public class AuthController {
     }
     
     /**
-     * User Registration Endpoint
+     * User Registration Endpoint.
+     * With an Idempotency-Key header, a retried registration gets the original result
+     * instead of being registered again.
      */
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<AuthResponse>> registerUser(
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> registerUser(
             @Valid @RequestBody UserRegistrationDto registrationDto,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest request) {
+        
+        // Throttle by client before any lookup or hashing; the per-email limit is only applied
+        // below to requests that will register, so Idempotency-Key replays aren't refused
+        rateLimitService.checkRegisterIp(request.getRemoteAddr());
         
         // Validate input
         if (bindingResult.hasErrors()) {
+            authMetrics.count(Operation.REGISTER, Outcome.VALIDATION_FAILED);
             String errors = bindingResult.getFieldErrors().stream()
                     .map(error -> error.getDefaultMessage())
                     .collect(Collectors.joining(", "));
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Validation failed: " + errors));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: " + errors)));
         }
         
-        // Register user
-        AuthResponse authResponse = authService.registerUser(registrationDto);
-        
-        if (authResponse.getToken() != null) {
-            return ResponseEntity.ok(
-                ApiResponse.success("User registered successfully!", authResponse)
-            );
-        } else {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(authResponse.getMessage()));
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 255)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Idempotency-Key must be 1 to 255 characters")));
         }
+        
+        // Register user; the request thread is released while the password is hashed.
+        // Shed with 503 when over the adaptive concurrency limit.
+        Supplier<CompletableFuture<AuthResponse>> registration = () -> {
+            rateLimitService.checkRegisterIdentifier(registrationDto.getCompanyEmail());
+            return authConcurrencyLimiter.execute(() -> authService.registerUser(registrationDto));
+        };
+        CompletableFuture<AuthResponse> result = idempotencyKey == null
+                ? registration.get()
+                : registrationIdempotencyService.execute(idempotencyKey, registrationDto, registration);
+        return result.thenApply(authResponse -> {
+            if (authResponse.getToken() != null) {
+                return ResponseEntity.ok(
+                    ApiResponse.success("User registered successfully!", authResponse)
+                );
+            } else {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponse.error(authResponse.getMessage()));
+            }
+        });
     }
     
     /**
      * User Login Endpoint
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> loginUser(
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> loginUser(
             @Valid @RequestBody UserLoginDto loginDto,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            HttpServletRequest request) {
+        
+        // Throttle before any lookup or hashing
+        rateLimitService.checkLogin(request.getRemoteAddr(), loginDto.getIdentifier());
         
         // Validate input
         if (bindingResult.hasErrors()) {
+            authMetrics.count(Operation.LOGIN, Outcome.VALIDATION_FAILED);
             String errors = bindingResult.getFieldErrors().stream()
                     .map(error -> error.getDefaultMessage())
                     .collect(Collectors.joining(", "));
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Validation failed: " + errors));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: " + errors)));
         }
         
-        // Authenticate user
-        AuthResponse authResponse = authService.loginUser(loginDto);
+        // Authenticate user; the request thread is released while the password is checked.
+        // Shed with 503 when over the adaptive concurrency limit.
+        return authConcurrencyLimiter.execute(() -> authService.loginUser(loginDto)).thenApply(authResponse -> {
+            if (authResponse.getToken() != null) {
+                return ResponseEntity.ok(
+                    ApiResponse.success("Login successful!", authResponse)
+                );
+            } else {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(ApiResponse.error(authResponse.getMessage()));
+            }
+        });
+    }
+    
+    /**
+     * Exchange a refresh token for a new access token and refresh token (no password check)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequest refreshRequest,
+            BindingResult bindingResult) {
         
+        // Validate input
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: refresh token is required"));
+        }
+        
+        AuthResponse authResponse = refreshTokenService.rotate(refreshRequest.getRefreshToken());
         if (authResponse.getToken() != null) {
             return ResponseEntity.ok(
-                ApiResponse.success("Login successful!", authResponse)
+                ApiResponse.success("Token refreshed successfully!", authResponse)
             );
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -95,27 +194,46 @@ public class AuthController {
         }
     }
     
+    /**
+     * Logout: revoke the presented access token for the rest of its lifetime,
+     * and the refresh token family if a refresh token is sent in the body
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(Authentication authentication,
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        if (refreshRequest != null && refreshRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        }
+        
+        if (authentication == null || !(authentication.getPrincipal() instanceof DecodedToken decodedToken)
+                || authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Invalid token"));
+        }
+        
+        if (!tokenRevocationService.revoke(authorizationHeader.substring(7), decodedToken)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Token cannot be revoked, please log in again"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully"));
+    }
+    
     /**
      * Get Current User Profile
      */
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getUserProfile(Authentication authentication) {
+    public ResponseEntity<ApiResponse<UserProfileDto>> getUserProfile(Authentication authentication) {
+        // Missing, invalid or revoked token
+        if (authentication == null || !(authentication.getPrincipal() instanceof DecodedToken decodedToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Invalid token"));
+        }
+        
         try {
-            String username = authentication.getName();
-            // Extract user ID from token (you'll need to get it from the request header)
-            // For now, let's find by email
-            User user = authService.getUserProfile(1L); // This needs to be properly implemented
+            UserProfileDto userProfile = authService.getUserProfile(decodedToken.getUserId());
             
-            if (user != null) {
-                Map<String, Object> userProfile = new HashMap<>();
-                userProfile.put("id", user.getId());
-                userProfile.put("fullName", user.getFullName());
-                userProfile.put("department", user.getDepartment());
-                userProfile.put("empId", user.getEmpId());
-                userProfile.put("mobileNo", user.getMobileNo());
-                userProfile.put("companyEmail", user.getCompanyEmail());
-                userProfile.put("createdAt", user.getCreatedAt());
-                
+            if (userProfile != null) {
                 return ResponseEntity.ok(
                     ApiResponse.success("Profile retrieved successfully!", userProfile)
                 );
@@ -140,36 +258,93 @@ public class AuthController {
     }
     
     /**
-     * Password Reset Request (Find user by mobile/email)
+     * Password Reset Request: send a one-time code to the account found by mobile number or email
      */
     @PostMapping("/forgot-password")
-    public ResponseEntity<ApiResponse<String>> forgotPassword(@RequestParam String identifier) {
+    public ResponseEntity<ApiResponse<String>> forgotPassword(@RequestParam String identifier, HttpServletRequest request) {
+        rateLimitService.checkForgotPassword(request.getRemoteAddr(), identifier);
+        
         try {
-            // Try to find user by mobile number first, then by email
-            User user = authService.findByMobileNo(identifier);
-            if (user == null) {
-                // If not found by mobile, try by email
-                if (authService.userExistsByEmail(identifier)) {
-                    return ResponseEntity.ok(
-                        ApiResponse.success("Password reset instructions will be sent to your registered mobile number")
-                    );
-                }
-            }
-            
-            if (user != null) {
-                return ResponseEntity.ok(
+            return switch (passwordResetService.requestCode(identifier)) {
+                case SENT -> ResponseEntity.ok(
                     ApiResponse.success("Password reset instructions will be sent to your registered mobile number")
                 );
-            } else {
-                return ResponseEntity.badRequest()
+                case NOT_FOUND -> ResponseEntity.badRequest()
                         .body(ApiResponse.error("No account found with this mobile number or email"));
-            }
+                case AMBIGUOUS -> ResponseEntity.badRequest()
+                        .body(ApiResponse.error("More than one account uses this mobile number, please use your email"));
+                case UNAVAILABLE -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "60")
+                        .body(ApiResponse.error("Password reset is busy, please try again shortly"));
+                case LOCKED -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body(ApiResponse.error("Too many wrong codes for this account, please try again later"));
+            };
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to process password reset request"));
         }
     }
     
+    /**
+     * Check a password reset code without using it up (answered from memory, no database access)
+     */
+    @PostMapping("/verify-reset-code")
+    public ResponseEntity<ApiResponse<String>> verifyResetCode(
+            @Valid @RequestBody ResetCodeRequest codeRequest,
+            BindingResult bindingResult,
+            HttpServletRequest request) {
+        
+        rateLimitService.checkResetCode(request.getRemoteAddr(), codeRequest.getIdentifier());
+        
+        // Validate input
+        if (bindingResult.hasErrors()) {
+            String errors = bindingResult.getFieldErrors().stream()
+                    .map(error -> error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: " + errors));
+        }
+        
+        if (passwordResetService.verifyCode(codeRequest.getIdentifier(), codeRequest.getCode())) {
+            return ResponseEntity.ok(ApiResponse.success("Code is valid"));
+        }
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Invalid or expired code"));
+    }
+    
+    /**
+     * Set a new password with a reset code; signs out every session's refresh token
+     */
+    @PostMapping("/reset-password")
+    public CompletableFuture<ResponseEntity<ApiResponse<String>>> resetPassword(
+            @Valid @RequestBody PasswordResetRequest resetRequest,
+            BindingResult bindingResult,
+            HttpServletRequest request) {
+        
+        rateLimitService.checkResetCode(request.getRemoteAddr(), resetRequest.getIdentifier());
+        
+        // Validate input
+        if (bindingResult.hasErrors()) {
+            String errors = bindingResult.getFieldErrors().stream()
+                    .map(error -> error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: " + errors)));
+        }
+        if (!resetRequest.getNewPassword().equals(resetRequest.getConfirmPassword())) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Password and confirm password do not match")));
+        }
+        
+        // The new password is hashed on the hashing pool; 503 when it is saturated
+        return passwordResetService.resetPassword(resetRequest.getIdentifier(), resetRequest.getCode(), resetRequest.getNewPassword())
+                .thenApply(changed -> changed
+                        ? ResponseEntity.ok(ApiResponse.<String>success("Password reset successfully, please log in"))
+                        : ResponseEntity.badRequest().body(ApiResponse.<String>error("Invalid or expired code")))
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(ApiResponse.error("Failed to reset password")));
+    }
+    
     /**
      * Validate JWT Token
      */
@@ -178,19 +353,17 @@ public class AuthController {
         try {
             if (token.startsWith("Bearer ")) {
                 String jwtToken = token.substring(7);
-                String username = jwtUtil.extractUsername(jwtToken);
+                DecodedToken decodedToken = verifiedTokenCache.getOrDecode(jwtToken);
                 
-                if (jwtUtil.validateToken(jwtToken, username)) {
-                    Map<String, Object> tokenInfo = new HashMap<>();
-                    tokenInfo.put("valid", true);
-                    tokenInfo.put("username", username);
-                    tokenInfo.put("userId", jwtUtil.extractUserId(jwtToken));
-                    tokenInfo.put("fullName", jwtUtil.extractFullName(jwtToken));
-                    
-                    return ResponseEntity.ok(
-                        ApiResponse.success("Token is valid", tokenInfo)
-                    );
-                }
+                Map<String, Object> tokenInfo = new HashMap<>();
+                tokenInfo.put("valid", true);
+                tokenInfo.put("username", decodedToken.getSubject());
+                tokenInfo.put("userId", decodedToken.getUserId());
+                tokenInfo.put("fullName", decodedToken.getFullName());
+                
+                return ResponseEntity.ok(
+                    ApiResponse.success("Token is valid", tokenInfo)
+                );
             }
             
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -201,4 +374,61 @@ public class AuthController {
                     .body(ApiResponse.error("Token validation failed"));
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Validate a batch of JWT tokens in one call, returning one result per token in order.
+     * Tokens may be sent with or without the "Bearer " prefix.
+     */
+    @PostMapping("/introspect")
+    public CompletableFuture<ResponseEntity<ApiResponse<List<TokenIntrospectionResult>>>> introspectTokens(
+            @Valid @RequestBody TokenIntrospectionRequest introspectionRequest,
+            BindingResult bindingResult,
+            HttpServletRequest request) {
+        
+        // Throttle before any verification: junk tokens are never cached, so each costs a signature check
+        rateLimitService.checkIntrospect(request.getRemoteAddr());
+        
+        // Validate input
+        if (bindingResult.hasErrors()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: at least one token is required")));
+        }
+        if (introspectionRequest.getTokens().size() > introspectMaxBatchSize) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Validation failed: at most " + introspectMaxBatchSize + " tokens per request")));
+        }
+        
+        // Verified in parallel on the introspection pool; 503 when it is saturated
+        return tokenIntrospectionService.introspect(introspectionRequest.getTokens())
+                .thenApply(results -> ResponseEntity.ok(ApiResponse.success("Tokens introspected", results)));
+    }
+    
+    /**
+     * Over the concurrency limit or the hashing or introspection pool is saturated; fail fast so the client can back off
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleHashingPoolSaturated(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error("Server is busy, please try again shortly"));
+    }
+    
+    /**
+     * Idempotency-Key reused with a different request body
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(ApiResponse.error(e.getMessage()));
+    }
+    
+    /**
+     * Client or identifier is over its request limit; tell it when to retry
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Void>> handleRateLimitExceeded(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error("Too many attempts, please try again later"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.tracker.controller;
+
+import com.tracker.util.JwtKeys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class JwksController {
+
+    @Autowired
+    private JwtKeys jwtKeys;
+
+    /**
+     * Public token-signing keys, so other services can verify tokens locally.
+     * Cacheable; verifiers should refetch when they see an unknown kid.
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, ?>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeys.getJwkSet());
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ public class AuthResponse {
     
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
     private Long userId;
     private String fullName;
     private String empId;
@@ -45,6 +46,14 @@ public class AuthResponse {
         this.type = type;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
     public Long getUserId() {
         return userId;
     }
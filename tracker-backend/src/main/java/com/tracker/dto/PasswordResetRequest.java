@@ -0,0 +1,64 @@
+package com.tracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class PasswordResetRequest {
+    
+    @NotBlank(message = "Mobile number or email is required")
+    private String identifier;
+    
+    @NotBlank(message = "Code is required")
+    private String code;
+    
+    @NotBlank(message = "New password is required")
+    @Size(min = 6, message = "Password must be at least 6 characters")
+    private String newPassword;
+    
+    @NotBlank(message = "Confirm password is required")
+    private String confirmPassword;
+    
+    // Default constructor
+    public PasswordResetRequest() {}
+    
+    // Constructor with parameters
+    public PasswordResetRequest(String identifier, String code, String newPassword, String confirmPassword) {
+        this.identifier = identifier;
+        this.code = code;
+        this.newPassword = newPassword;
+        this.confirmPassword = confirmPassword;
+    }
+    
+    // Getters and Setters
+    public String getIdentifier() {
+        return identifier;
+    }
+    
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+    
+    public String getNewPassword() {
+        return newPassword;
+    }
+    
+    public void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+    
+    public String getConfirmPassword() {
+        return confirmPassword;
+    }
+    
+    public void setConfirmPassword(String confirmPassword) {
+        this.confirmPassword = confirmPassword;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.tracker.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class ResetCodeRequest {
+    
+    @NotBlank(message = "Mobile number or email is required")
+    private String identifier;
+    
+    @NotBlank(message = "Code is required")
+    private String code;
+    
+    // Default constructor
+    public ResetCodeRequest() {}
+    
+    // Constructor with parameters
+    public ResetCodeRequest(String identifier, String code) {
+        this.identifier = identifier;
+        this.code = code;
+    }
+    
+    // Getters and Setters
+    public String getIdentifier() {
+        return identifier;
+    }
+    
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public void setCode(String code) {
+        this.code = code;
+    }
+}
\ No newline at end of file
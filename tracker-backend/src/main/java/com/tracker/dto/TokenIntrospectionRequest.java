@@ -0,0 +1,27 @@
+package com.tracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class TokenIntrospectionRequest {
+    
+    @NotEmpty(message = "At least one token is required")
+    private List<String> tokens;
+    
+    // Default constructor
+    public TokenIntrospectionRequest() {}
+    
+    // Constructor with parameters
+    public TokenIntrospectionRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+    
+    // Getters and Setters
+    public List<String> getTokens() {
+        return tokens;
+    }
+    
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
\ No newline at end of file
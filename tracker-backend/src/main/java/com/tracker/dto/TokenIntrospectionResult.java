@@ -0,0 +1,68 @@
+package com.tracker.dto;
+
+public class TokenIntrospectionResult {
+    
+    private boolean valid;
+    private String username;
+    private Long userId;
+    private String fullName;
+    private Long expiresAt; // epoch seconds
+    
+    // Default constructor
+    public TokenIntrospectionResult() {}
+    
+    // Constructor for a valid token
+    public TokenIntrospectionResult(String username, Long userId, String fullName, Long expiresAt) {
+        this.valid = true;
+        this.username = username;
+        this.userId = userId;
+        this.fullName = fullName;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Result for an invalid, expired or revoked token (no claims are returned)
+    public static TokenIntrospectionResult invalid() {
+        return new TokenIntrospectionResult();
+    }
+    
+    // Getters and Setters
+    public boolean isValid() {
+        return valid;
+    }
+    
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+    
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
\ No newline at end of file
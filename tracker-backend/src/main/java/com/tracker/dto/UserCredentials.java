@@ -0,0 +1,42 @@
+package com.tracker.dto;
+
+/**
+ * Narrow read-only projection of the columns needed to authenticate a login
+ */
+public class UserCredentials {
+    
+    private final Long id;
+    private final String companyEmail;
+    private final String empId;
+    private final String fullName;
+    private final String password;
+    
+    public UserCredentials(Long id, String companyEmail, String empId, String fullName, String password) {
+        this.id = id;
+        this.companyEmail = companyEmail;
+        this.empId = empId;
+        this.fullName = fullName;
+        this.password = password;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public String getCompanyEmail() {
+        return companyEmail;
+    }
+    
+    public String getEmpId() {
+        return empId;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+}
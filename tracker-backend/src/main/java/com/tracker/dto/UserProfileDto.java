@@ -0,0 +1,86 @@
+package com.tracker.dto;
+
+import java.time.LocalDateTime;
+
+public class UserProfileDto {
+    
+    private Long id;
+    private String fullName;
+    private String department;
+    private String empId;
+    private String mobileNo;
+    private String companyEmail;
+    private LocalDateTime createdAt;
+    
+    // Default constructor
+    public UserProfileDto() {}
+    
+    // Constructor used by the JPQL projection in UserRepository
+    public UserProfileDto(Long id, String fullName, String department, String empId,
+                          String mobileNo, String companyEmail, LocalDateTime createdAt) {
+        this.id = id;
+        this.fullName = fullName;
+        this.department = department;
+        this.empId = empId;
+        this.mobileNo = mobileNo;
+        this.companyEmail = companyEmail;
+        this.createdAt = createdAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+    
+    public String getDepartment() {
+        return department;
+    }
+    
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+    
+    public String getEmpId() {
+        return empId;
+    }
+    
+    public void setEmpId(String empId) {
+        this.empId = empId;
+    }
+    
+    public String getMobileNo() {
+        return mobileNo;
+    }
+    
+    public void setMobileNo(String mobileNo) {
+        this.mobileNo = mobileNo;
+    }
+    
+    public String getCompanyEmail() {
+        return companyEmail;
+    }
+    
+    public void setCompanyEmail(String companyEmail) {
+        this.companyEmail = companyEmail;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An opaque refresh token, stored only as the SHA-256 hash of its value.
+ * Every rotation issues a new token in the same family; the user's identity is
+ * copied onto each row so a refresh never has to read the users table.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+    @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+    
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "company_email", nullable = false)
+    private String companyEmail;
+    
+    @Column(name = "emp_id", nullable = false, length = 20)
+    private String empId;
+    
+    @Column(name = "full_name", nullable = false, length = 100)
+    private String fullName;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Set when the token is exchanged; a second exchange is a reuse
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+    
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+    
+    // Default constructor
+    public RefreshToken() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Constructor with parameters
+    public RefreshToken(String tokenHash, String familyId, Long userId, String companyEmail,
+                        String empId, String fullName, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.companyEmail = companyEmail;
+        this.empId = empId;
+        this.fullName = fullName;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getTokenHash() {
+        return tokenHash;
+    }
+    
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+    
+    public String getFamilyId() {
+        return familyId;
+    }
+    
+    public void setFamilyId(String familyId) {
+        this.familyId = familyId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getCompanyEmail() {
+        return companyEmail;
+    }
+    
+    public void setCompanyEmail(String companyEmail) {
+        this.companyEmail = companyEmail;
+    }
+    
+    public String getEmpId() {
+        return empId;
+    }
+    
+    public void setEmpId(String empId) {
+        this.empId = empId;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUsedAt() {
+        return usedAt;
+    }
+    
+    public void setUsedAt(LocalDateTime usedAt) {
+        this.usedAt = usedAt;
+    }
+    
+    public boolean isRevoked() {
+        return revoked;
+    }
+    
+    public void setRevoked(boolean revoked) {
+        this.revoked = revoked;
+    }
+}
@@ -0,0 +1,71 @@
+package com.tracker.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A token revoked before its expiry (e.g. by logout).
+ * Rows are only needed until expires_at and are deleted after that.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+public class RevokedToken {
+    
+    @Id
+    @Column(name = "jti", nullable = false, length = 36)
+    private String jti;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+    
+    // Default constructor
+    public RevokedToken() {
+    }
+    
+    // Constructor with parameters
+    public RevokedToken(String jti, Long userId, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getJti() {
+        return jti;
+    }
+    
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+    
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
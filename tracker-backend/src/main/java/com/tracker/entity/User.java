@@ -1,5 +1,6 @@
 package com.tracker.entity;
 
+import com.tracker.service.UserCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +8,10 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_mobile_no", columnList = "mobile_no")
+})
+@EntityListeners(UserCacheInvalidator.class)
 public class User {
     
     @Id
@@ -50,6 +54,10 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Access tokens issued before this are rejected; set when the password is reset
+    @Column(name = "tokens_not_before")
+    private LocalDateTime tokensNotBefore;
+    
     // Default constructor
     public User() {
         this.createdAt = LocalDateTime.now();
@@ -140,6 +148,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public LocalDateTime getTokensNotBefore() {
+        return tokensNotBefore;
+    }
+    
+    public void setTokensNotBefore(LocalDateTime tokensNotBefore) {
+        this.tokensNotBefore = tokensNotBefore;
+    }
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
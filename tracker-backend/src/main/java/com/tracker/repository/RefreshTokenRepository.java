@@ -0,0 +1,48 @@
+package com.tracker.repository;
+
+import com.tracker.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    /**
+     * Find a refresh token by the hash of its value (unique-index lookup)
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    /**
+     * Mark a token as exchanged, only if it has not been already.
+     * Returns 0 when another request used it first.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :now WHERE r.id = :id AND r.usedAt IS NULL AND r.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Revoke every token issued from the same login
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+    
+    /**
+     * Revoke every token of a user (password reset)
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.userId = :userId")
+    int revokeAllForUser(@Param("userId") Long userId);
+    
+    /**
+     * Remove tokens past their expiry
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
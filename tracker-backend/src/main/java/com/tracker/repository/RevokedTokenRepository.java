@@ -0,0 +1,27 @@
+package com.tracker.repository;
+
+import com.tracker.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    /**
+     * Revocations still in effect (jti and expiry only), to fill the in-memory denylist
+     */
+    @Query("SELECT r.jti, r.expiresAt FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<Object[]> findActive(@Param("now") LocalDateTime now);
+    
+    /**
+     * Remove revocations whose tokens have expired
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,11 +1,21 @@
 package com.tracker.repository;
 
+import com.tracker.dto.UserCredentials;
+import com.tracker.dto.UserProfileDto;
 import com.tracker.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -31,13 +41,80 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmpId(String empId);
     
     /**
-     * Find user by email or employee ID for login
+     * Find login credentials by company email (single unique-index lookup)
      */
-    @Query("SELECT u FROM User u WHERE u.companyEmail = :identifier OR u.empId = :identifier")
-    Optional<User> findByEmailOrEmpId(@Param("identifier") String identifier);
+    @Query("SELECT new com.tracker.dto.UserCredentials(u.id, u.companyEmail, u.empId, u.fullName, u.password) " +
+           "FROM User u WHERE u.companyEmail = :companyEmail")
+    Optional<UserCredentials> findCredentialsByCompanyEmail(@Param("companyEmail") String companyEmail);
     
     /**
-     * Find user by mobile number (for password reset)
+     * Find login credentials by employee ID (single unique-index lookup)
      */
-    Optional<User> findByMobileNo(String mobileNo);
-}
\ No newline at end of file
+    @Query("SELECT new com.tracker.dto.UserCredentials(u.id, u.companyEmail, u.empId, u.fullName, u.password) " +
+           "FROM User u WHERE u.empId = :empId")
+    Optional<UserCredentials> findCredentialsByEmpId(@Param("empId") String empId);
+    
+    /**
+     * Stream every (companyEmail, empId) pair; must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.companyEmail, u.empId FROM User u")
+    Stream<Object[]> streamAllLoginKeys();
+    
+    /**
+     * Find profile fields by user ID without loading the managed entity
+     */
+    @Query("SELECT new com.tracker.dto.UserProfileDto(u.id, u.fullName, u.department, u.empId, " +
+           "u.mobileNo, u.companyEmail, u.createdAt) FROM User u WHERE u.id = :id")
+    Optional<UserProfileDto> findProfileById(@Param("id") Long id);
+    
+    /**
+     * Find profile fields by company email
+     */
+    @Query("SELECT new com.tracker.dto.UserProfileDto(u.id, u.fullName, u.department, u.empId, " +
+           "u.mobileNo, u.companyEmail, u.createdAt) FROM User u WHERE u.companyEmail = :companyEmail")
+    Optional<UserProfileDto> findProfileByCompanyEmail(@Param("companyEmail") String companyEmail);
+    
+    /**
+     * Find profile fields by employee ID
+     */
+    @Query("SELECT new com.tracker.dto.UserProfileDto(u.id, u.fullName, u.department, u.empId, " +
+           "u.mobileNo, u.companyEmail, u.createdAt) FROM User u WHERE u.empId = :empId")
+    Optional<UserProfileDto> findProfileByEmpId(@Param("empId") String empId);
+    
+    /**
+     * Find profile fields by mobile number (idx_users_mobile_no); numbers are not unique
+     */
+    @Query("SELECT new com.tracker.dto.UserProfileDto(u.id, u.fullName, u.department, u.empId, " +
+           "u.mobileNo, u.companyEmail, u.createdAt) FROM User u WHERE u.mobileNo = :mobileNo")
+    List<UserProfileDto> findProfilesByMobileNo(@Param("mobileNo") String mobileNo);
+    
+    /**
+     * Users whose tokens issued before a later cutoff are rejected (id and cutoff only),
+     * to fill the in-memory denylist
+     */
+    @Query("SELECT u.id, u.tokensNotBefore FROM User u WHERE u.tokensNotBefore > :after")
+    List<Object[]> findTokenCutoffsAfter(@Param("after") LocalDateTime after);
+    
+    /**
+     * Replace a password hash only if it is still the one that was verified, so an upgrade
+     * of an old hash can't overwrite a password changed in the meantime.
+     * Returns 0 when the stored hash has changed.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash, u.updatedAt = :now " +
+           "WHERE u.id = :id AND u.password = :verifiedHash")
+    int upgradePassword(@Param("id") Long id, @Param("verifiedHash") String verifiedHash,
+                        @Param("newHash") String newHash, @Param("now") LocalDateTime now);
+    
+    /**
+     * Set a new password and reject tokens issued before now, writing only those columns.
+     * Returns 0 when the user no longer exists.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.tokensNotBefore = :now, u.updatedAt = :now " +
+           "WHERE u.id = :id")
+    int resetPassword(@Param("id") Long id, @Param("password") String password, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,99 @@
+package com.tracker.service;
+
+import com.tracker.util.AimdConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Load shedding for the BCrypt-bound login and register handlers.
+ * Both share one adaptive limit since they share the hashing pool. A request over
+ * the limit is refused with RejectedExecutionException before any work is done,
+ * which the controller turns into 503 with Retry-After, keeping CPU free for
+ * the cheap endpoints.
+ */
+@Service
+public class AuthConcurrencyLimiter {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.concurrency.enabled:true}")
+    private boolean enabled;
+    
+    // 0 means one per available core
+    @Value("${auth.concurrency.min-limit:0}")
+    private int minLimit;
+    
+    @Value("${auth.concurrency.initial-limit:20}")
+    private int initialLimit;
+    
+    @Value("${auth.concurrency.max-limit:200}")
+    private int maxLimit;
+    
+    @Value("${auth.concurrency.latency-threshold-ms:500}")
+    private long latencyThresholdMs;
+    
+    @Value("${auth.concurrency.backoff-ratio:0.9}")
+    private double backoffRatio;
+    
+    private AimdConcurrencyLimiter limiter;
+    
+    private Counter rejected;
+    
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        int floor = minLimit > 0 ? minLimit : Runtime.getRuntime().availableProcessors();
+        limiter = new AimdConcurrencyLimiter(initialLimit, floor, Math.max(floor, maxLimit),
+                TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs), backoffRatio);
+        
+        Gauge.builder("auth.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for login and register")
+                .register(meterRegistry);
+        Gauge.builder("auth.concurrency.inflight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .description("Login and register requests currently in progress")
+                .register(meterRegistry);
+        rejected = Counter.builder("auth.concurrency.rejected")
+                .description("Login and register requests shed with 503")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Start the request if under the limit; its latency is sampled when the future completes.
+     * A RejectedExecutionException from the hashing pool counts as a dropped sample.
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> request) {
+        if (limiter == null) {
+            return request.get();
+        }
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Concurrency limit reached");
+        }
+        
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RejectedExecutionException e) {
+            limiter.release(System.nanoTime() - start, true);
+            throw e;
+        } catch (RuntimeException e) {
+            limiter.release(System.nanoTime() - start, false);
+            throw e;
+        }
+        return future.whenComplete((result, e) -> limiter.release(System.nanoTime() - start, false));
+    }
+}
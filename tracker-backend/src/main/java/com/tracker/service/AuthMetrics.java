@@ -0,0 +1,117 @@
+package com.tracker.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Stage timers and outcome counters for the authentication pipeline.
+ * Meters are registered once at startup and only carry fixed tag values,
+ * never emails, employee IDs or tokens.
+ */
+@Service
+public class AuthMetrics {
+    
+    /**
+     * Timed steps of login, registration and authenticated requests
+     */
+    public enum Stage {
+        LOOKUP("lookup"),
+        PASSWORD_HASH("password_hash"),
+        PASSWORD_MATCH("password_match"),
+        // Background upgrade of an outdated hash after login, kept apart from registration hashing
+        PASSWORD_REHASH("password_rehash"),
+        TOKEN_CREATE("token_create"),
+        TOKEN_VERIFY("token_verify"),
+        SERIALIZE("serialize");
+        
+        private final String tag;
+        
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+    
+    public enum Operation {
+        LOGIN("login"),
+        REGISTER("register"),
+        REFRESH("refresh"),
+        PASSWORD_RESET("password_reset");
+        
+        private final String tag;
+        
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+    
+    public enum Outcome {
+        SUCCESS("success"),
+        BAD_CREDENTIALS("bad_credentials"),
+        VALIDATION_FAILED("validation_failed"),
+        DUPLICATE("duplicate"),
+        REUSED("reused"),
+        BUSY("busy"),
+        ERROR("error");
+        
+        private final String tag;
+        
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    
+    private final Map<Operation, Map<Outcome, Counter>> counters = new EnumMap<>(Operation.class);
+    
+    @PostConstruct
+    void init() {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("auth.stage")
+                    .description("Time spent in one step of the authentication pipeline")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+        }
+        for (Operation operation : Operation.values()) {
+            Map<Outcome, Counter> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Counter.builder("auth.outcome")
+                        .description("Completed login, registration, token refresh and password reset attempts by result")
+                        .tag("operation", operation.tag)
+                        .tag("outcome", outcome.tag)
+                        .register(meterRegistry));
+            }
+            counters.put(operation, byOutcome);
+        }
+    }
+    
+    /**
+     * Run the supplier and record its duration, including when it throws
+     */
+    public <T> T time(Stage stage, Supplier<T> supplier) {
+        return timers.get(stage).record(supplier);
+    }
+    
+    public Timer timer(Stage stage) {
+        return timers.get(stage);
+    }
+    
+    public void count(Operation operation, Outcome outcome) {
+        counters.get(operation).get(outcome).increment();
+    }
+}
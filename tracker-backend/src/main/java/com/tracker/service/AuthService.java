@@ -1,128 +1,260 @@
 package com.tracker.service;
 
 import com.tracker.dto.AuthResponse;
+import com.tracker.dto.UserCredentials;
 import com.tracker.dto.UserLoginDto;
+import com.tracker.dto.UserProfileDto;
 import com.tracker.dto.UserRegistrationDto;
 import com.tracker.entity.User;
 import com.tracker.repository.UserRepository;
+import com.tracker.service.AuthMetrics.Operation;
+import com.tracker.service.AuthMetrics.Outcome;
+import com.tracker.service.AuthMetrics.Stage;
 import com.tracker.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class AuthService {
     
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private UserExistenceFilter userExistenceFilter;
+    
+    @Autowired
+    private UserCache userCache;
     
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    @Autowired
+    @Qualifier("authPersistenceExecutor")
+    private TaskExecutor authPersistenceExecutor;
+    
     /**
-     * Register a new user
+     * Register a new user.
+     * Password hashing runs on the hashing pool; throws RejectedExecutionException
+     * if that pool is saturated. No transaction is held across the future;
+     * the insert runs in the repository's own transaction on the persistence pool.
      */
-    public AuthResponse registerUser(UserRegistrationDto registrationDto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<AuthResponse> registerUser(UserRegistrationDto registrationDto) {
         try {
             // Validate password confirmation
             if (!registrationDto.getPassword().equals(registrationDto.getConfirmPassword())) {
-                return new AuthResponse("Password and confirm password do not match");
+                authMetrics.count(Operation.REGISTER, Outcome.VALIDATION_FAILED);
+                return CompletableFuture.completedFuture(new AuthResponse("Password and confirm password do not match"));
             }
             
             // Check if email already exists
-            if (userRepository.existsByCompanyEmail(registrationDto.getCompanyEmail())) {
-                return new AuthResponse("Email already exists");
+            if (userExistenceFilter.emailExists(registrationDto.getCompanyEmail())) {
+                authMetrics.count(Operation.REGISTER, Outcome.DUPLICATE);
+                return CompletableFuture.completedFuture(new AuthResponse("Email already exists"));
             }
             
             // Check if employee ID already exists
-            if (userRepository.existsByEmpId(registrationDto.getEmpId())) {
-                return new AuthResponse("Employee ID already exists");
+            if (userExistenceFilter.empIdExists(registrationDto.getEmpId())) {
+                authMetrics.count(Operation.REGISTER, Outcome.DUPLICATE);
+                return CompletableFuture.completedFuture(new AuthResponse("Employee ID already exists"));
             }
-            
-            // Create new user
-            User user = new User();
-            user.setFullName(registrationDto.getFullName());
-            user.setDepartment(registrationDto.getDepartment());
-            user.setEmpId(registrationDto.getEmpId());
-            user.setPassword(passwordEncoder.encode(registrationDto.getPassword()));
-            user.setMobileNo(registrationDto.getMobileNo());
-            user.setCompanyEmail(registrationDto.getCompanyEmail());
-            
-            // Save user to database
-            User savedUser = userRepository.save(user);
-            
-            // Generate JWT token
-            String token = jwtUtil.generateToken(
-                savedUser.getCompanyEmail(),
-                savedUser.getId(),
-                savedUser.getFullName()
-            );
-            
-            return new AuthResponse(token, savedUser.getId(), savedUser.getFullName(), savedUser.getEmpId(), savedUser.getCompanyEmail());
-            
         } catch (Exception e) {
-            return new AuthResponse("Registration failed: " + e.getMessage());
+            authMetrics.count(Operation.REGISTER, Outcome.ERROR);
+            return CompletableFuture.completedFuture(new AuthResponse("Registration failed: " + e.getMessage()));
         }
+        
+        return hash(registrationDto.getPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    // Create new user
+                    User user = new User();
+                    user.setFullName(registrationDto.getFullName());
+                    user.setDepartment(registrationDto.getDepartment());
+                    user.setEmpId(registrationDto.getEmpId());
+                    user.setPassword(encodedPassword);
+                    user.setMobileNo(registrationDto.getMobileNo());
+                    user.setCompanyEmail(registrationDto.getCompanyEmail());
+                    
+                    // Save user to database
+                    User savedUser = userRepository.save(user);
+                    userExistenceFilter.add(savedUser.getCompanyEmail(), savedUser.getEmpId());
+                    
+                    // Generate JWT token
+                    String token = authMetrics.time(Stage.TOKEN_CREATE, () -> jwtUtil.generateToken(
+                        savedUser.getCompanyEmail(),
+                        savedUser.getId(),
+                        savedUser.getFullName()
+                    ));
+                    
+                    AuthResponse response = new AuthResponse(token, savedUser.getId(), savedUser.getFullName(), savedUser.getEmpId(), savedUser.getCompanyEmail());
+                    response.setRefreshToken(refreshTokenService.issue(
+                        savedUser.getId(), savedUser.getCompanyEmail(), savedUser.getEmpId(), savedUser.getFullName()));
+                    
+                    authMetrics.count(Operation.REGISTER, Outcome.SUCCESS);
+                    return response;
+                }, authPersistenceExecutor)
+                .exceptionally(e -> {
+                    authMetrics.count(Operation.REGISTER, Outcome.ERROR);
+                    return new AuthResponse("Registration failed: " + rootMessage(e));
+                });
     }
     
     /**
-     * Authenticate user login
+     * Authenticate user login.
+     * Password matching runs on the hashing pool; throws RejectedExecutionException
+     * if that pool is saturated. The refresh token insert runs on the persistence pool.
      */
-    public AuthResponse loginUser(UserLoginDto loginDto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<AuthResponse> loginUser(UserLoginDto loginDto) {
+        UserCredentials user;
         try {
             // Find user by email or employee ID
-            Optional<User> userOptional = userRepository.findByEmailOrEmpId(loginDto.getIdentifier());
+            Optional<UserCredentials> userOptional = authMetrics.time(Stage.LOOKUP,
+                    () -> findCredentials(loginDto.getIdentifier()));
             
             if (userOptional.isEmpty()) {
-                return new AuthResponse("Invalid credentials");
+                authMetrics.count(Operation.LOGIN, Outcome.BAD_CREDENTIALS);
+                return CompletableFuture.completedFuture(new AuthResponse("Invalid credentials"));
             }
             
-            User user = userOptional.get();
-            
-            // Verify password
-            if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
-                return new AuthResponse("Invalid credentials");
-            }
-            
-            // Generate JWT token
-            String token = jwtUtil.generateToken(
-                user.getCompanyEmail(),
-                user.getId(),
-                user.getFullName()
-            );
-            
-            return new AuthResponse(token, user.getId(), user.getFullName(), user.getEmpId(), user.getCompanyEmail());
-            
+            user = userOptional.get();
         } catch (Exception e) {
-            return new AuthResponse("Login failed: " + e.getMessage());
+            authMetrics.count(Operation.LOGIN, Outcome.ERROR);
+            return CompletableFuture.completedFuture(new AuthResponse("Login failed: " + e.getMessage()));
         }
+        
+        // Verify password
+        return verify(loginDto.getPassword(), user.getPassword())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        authMetrics.count(Operation.LOGIN, Outcome.BAD_CREDENTIALS);
+                        return new AuthResponse("Invalid credentials");
+                    }
+                    
+                    if (passwordHashingService.needsRehash(user.getPassword())) {
+                        rehashInBackground(user.getId(), user.getPassword(), loginDto.getPassword());
+                    }
+                    
+                    // Generate JWT token
+                    String token = authMetrics.time(Stage.TOKEN_CREATE, () -> jwtUtil.generateToken(
+                        user.getCompanyEmail(),
+                        user.getId(),
+                        user.getFullName()
+                    ));
+                    
+                    AuthResponse response = new AuthResponse(token, user.getId(), user.getFullName(), user.getEmpId(), user.getCompanyEmail());
+                    response.setRefreshToken(refreshTokenService.issue(
+                        user.getId(), user.getCompanyEmail(), user.getEmpId(), user.getFullName()));
+                    
+                    authMetrics.count(Operation.LOGIN, Outcome.SUCCESS);
+                    return response;
+                }, authPersistenceExecutor)
+                .exceptionally(e -> {
+                    authMetrics.count(Operation.LOGIN, Outcome.ERROR);
+                    return new AuthResponse("Login failed: " + rootMessage(e));
+                });
     }
     
     /**
      * Get user profile by ID
      */
-    public User getUserProfile(Long userId) {
-        return userRepository.findById(userId).orElse(null);
+    public UserProfileDto getUserProfile(Long userId) {
+        return userCache.getProfile(userId).orElse(null);
     }
     
     /**
      * Check if user exists by email
      */
     public boolean userExistsByEmail(String email) {
-        return userRepository.existsByCompanyEmail(email);
+        return userExistenceFilter.emailExists(email);
     }
     
     /**
-     * Find user by mobile number (for password reset)
+     * Resolve a login identifier with a single indexed lookup instead of an OR query.
+     * Emails always contain '@' (enforced at registration), so anything else is an
+     * employee ID; an '@' identifier falls back to empId only when no email matches.
      */
-    public User findByMobileNo(String mobileNo) {
-        return userRepository.findByMobileNo(mobileNo).orElse(null);
+    private Optional<UserCredentials> findCredentials(String identifier) {
+        if (identifier.indexOf('@') < 0) {
+            return userRepository.findCredentialsByEmpId(identifier);
+        }
+        
+        Optional<UserCredentials> byEmail = userRepository.findCredentialsByCompanyEmail(identifier);
+        return byEmail.isPresent() ? byEmail : userRepository.findCredentialsByEmpId(identifier);
+    }
+    
+    /**
+     * Submit a registration hash, counting a saturated pool before the rejection propagates
+     */
+    private CompletableFuture<String> hash(String rawPassword) {
+        try {
+            return passwordHashingService.encode(rawPassword);
+        } catch (RejectedExecutionException e) {
+            authMetrics.count(Operation.REGISTER, Outcome.BUSY);
+            throw e;
+        }
+    }
+    
+    /**
+     * Submit a login password check, counting a saturated pool before the rejection propagates
+     */
+    private CompletableFuture<Boolean> verify(String rawPassword, String encodedPassword) {
+        try {
+            return passwordHashingService.matches(rawPassword, encodedPassword);
+        } catch (RejectedExecutionException e) {
+            authMetrics.count(Operation.LOGIN, Outcome.BUSY);
+            throw e;
+        }
+    }
+    
+    /**
+     * Write-behind upgrade of an outdated hash; never delays the login response.
+     * If the hashing pool is busy the upgrade is skipped and retried on the next login.
+     * The new hash is only written if the stored one is still the hash that was verified,
+     * so a password changed after the login check is never reverted.
+     */
+    private void rehashInBackground(Long userId, String verifiedHash, String rawPassword) {
+        try {
+            passwordHashingService.rehash(rawPassword)
+                    .thenAcceptAsync(encodedPassword -> {
+                        if (userRepository.upgradePassword(userId, verifiedHash, encodedPassword, LocalDateTime.now()) == 0) {
+                            log.debug("Password of user {} changed since login, dropping rehash", userId);
+                        }
+                    }, authPersistenceExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Password rehash failed for user {}: {}", userId, rootMessage(e));
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.debug("Hashing pool busy, skipping password rehash for user {}", userId);
+        }
+    }
+    
+    private static String rootMessage(Throwable e) {
+        return (e instanceof CompletionException && e.getCause() != null) ? e.getCause().getMessage() : e.getMessage();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.tracker.service;
+
+/**
+ * Thrown when an Idempotency-Key is sent again with a different request body
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    
+    public IdempotencyKeyReusedException() {
+        super("Idempotency-Key was already used for a different request");
+    }
+}
\ No newline at end of file
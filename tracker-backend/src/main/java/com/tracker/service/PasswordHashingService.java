@@ -0,0 +1,63 @@
+package com.tracker.service;
+
+import com.tracker.service.AuthMetrics.Stage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs password encoding and matching on the bounded hashing pool.
+ * Throws RejectedExecutionException synchronously when the pool is saturated.
+ */
+@Service
+public class PasswordHashingService {
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private TaskExecutor passwordHashingExecutor;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    /**
+     * Hash a raw password.
+     * Only the hashing itself is timed, not the wait in the pool's queue.
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return CompletableFuture.supplyAsync(
+                () -> authMetrics.time(Stage.PASSWORD_HASH, () -> passwordEncoder.encode(rawPassword)),
+                passwordHashingExecutor);
+    }
+    
+    /**
+     * Hash a raw password to upgrade an outdated stored hash, timed separately from encode
+     */
+    public CompletableFuture<String> rehash(CharSequence rawPassword) {
+        return CompletableFuture.supplyAsync(
+                () -> authMetrics.time(Stage.PASSWORD_REHASH, () -> passwordEncoder.encode(rawPassword)),
+                passwordHashingExecutor);
+    }
+    
+    /**
+     * Check a raw password against a stored hash
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return CompletableFuture.supplyAsync(
+                () -> authMetrics.time(Stage.PASSWORD_MATCH, () -> passwordEncoder.matches(rawPassword, encodedPassword)),
+                passwordHashingExecutor);
+    }
+    
+    /**
+     * Whether a stored hash uses an outdated algorithm or cost (cheap, no hashing)
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+}
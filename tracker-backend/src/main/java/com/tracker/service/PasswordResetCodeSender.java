@@ -0,0 +1,40 @@
+package com.tracker.service;
+
+import com.tracker.dto.UserProfileDto;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers password reset codes to the user's registered mobile number.
+ * No SMS gateway is wired up yet; replace send() to integrate one. Codes are never
+ * logged unless auth.reset.log-codes is set, which is for local development only.
+ */
+@Component
+public class PasswordResetCodeSender {
+    
+    private static final Logger log = LoggerFactory.getLogger(PasswordResetCodeSender.class);
+    
+    @Value("${auth.reset.log-codes:false}")
+    private boolean logCodes;
+    
+    @PostConstruct
+    void init() {
+        if (logCodes) {
+            log.warn("auth.reset.log-codes is on: password reset codes are written to the log, never enable this outside development");
+        }
+    }
+    
+    public void send(UserProfileDto user, String code) {
+        log.info("Password reset code issued for user {}", user.getId());
+        if (logCodes) {
+            log.info("Password reset code for user {} (mobile ending {}): {}", user.getId(), lastDigits(user.getMobileNo()), code);
+        }
+    }
+    
+    private static String lastDigits(String mobileNo) {
+        return mobileNo.length() > 4 ? mobileNo.substring(mobileNo.length() - 4) : mobileNo;
+    }
+}
\ No newline at end of file
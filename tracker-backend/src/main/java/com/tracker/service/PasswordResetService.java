@@ -0,0 +1,147 @@
+package com.tracker.service;
+
+import com.tracker.dto.UserProfileDto;
+import com.tracker.repository.UserRepository;
+import com.tracker.service.AuthMetrics.Operation;
+import com.tracker.service.AuthMetrics.Outcome;
+import com.tracker.util.OneTimeCodeStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Password reset with one-time codes.
+ * Requesting a code resolves the identifier with one indexed lookup and keeps the code in
+ * OneTimeCodeStore; verifying a code only reads that store. Resetting checks the code, hashes
+ * the new password on the hashing pool, then consumes the code, so a wrong code never costs
+ * a hash and a code can't be used twice. A reset signs out every session: refresh tokens are
+ * revoked and access tokens issued before the reset are rejected.
+ */
+@Service
+public class PasswordResetService {
+    
+    public enum CodeRequest {
+        SENT,
+        NOT_FOUND,
+        // Mobile numbers aren't unique; the email identifies the account
+        AMBIGUOUS,
+        // The code store is full
+        UNAVAILABLE,
+        // Too many wrong codes for this account; locked out for auth.reset.lockout-seconds
+        LOCKED
+    }
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private OneTimeCodeStore oneTimeCodeStore;
+    
+    @Autowired
+    private PasswordResetCodeSender passwordResetCodeSender;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    @Autowired
+    @Qualifier("authPersistenceExecutor")
+    private TaskExecutor authPersistenceExecutor;
+    
+    /**
+     * Issue and send a reset code for a mobile number or company email
+     */
+    public CodeRequest requestCode(String identifier) {
+        // Emails always contain '@' and mobile numbers never do: one indexed lookup either way
+        List<UserProfileDto> users = identifier.indexOf('@') >= 0
+                ? userRepository.findProfileByCompanyEmail(identifier).map(List::of).orElse(List.of())
+                : userRepository.findProfilesByMobileNo(identifier);
+        if (users.isEmpty()) {
+            return CodeRequest.NOT_FOUND;
+        }
+        if (users.size() > 1) {
+            return CodeRequest.AMBIGUOUS;
+        }
+        
+        UserProfileDto user = users.get(0);
+        if (oneTimeCodeStore.isLocked(user.getId())) {
+            return CodeRequest.LOCKED;
+        }
+        String code = oneTimeCodeStore.issue(key(identifier), user.getId());
+        if (code == null) {
+            return CodeRequest.UNAVAILABLE;
+        }
+        passwordResetCodeSender.send(user, code);
+        return CodeRequest.SENT;
+    }
+    
+    /**
+     * Whether the code is valid for the identifier, without using it up
+     */
+    public boolean verifyCode(String identifier, String code) {
+        return oneTimeCodeStore.check(key(identifier), code) != null;
+    }
+    
+    /**
+     * Set a new password if the code is valid, and sign out every session.
+     * Completes with false for an invalid, expired or already used code, or a user that
+     * no longer exists. Throws
+     * RejectedExecutionException if the hashing pool is saturated.
+     */
+    public CompletableFuture<Boolean> resetPassword(String identifier, String code, String newPassword) {
+        String key = key(identifier);
+        Long userId = oneTimeCodeStore.check(key, code);
+        if (userId == null) {
+            authMetrics.count(Operation.PASSWORD_RESET, Outcome.BAD_CREDENTIALS);
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        return hash(newPassword).thenApplyAsync(encodedPassword -> {
+            if (!userId.equals(oneTimeCodeStore.consume(key, code))) {
+                authMetrics.count(Operation.PASSWORD_RESET, Outcome.REUSED);
+                return false;
+            }
+            // Only the password and cutoff columns, so no full-entity save can revert them
+            LocalDateTime now = LocalDateTime.now();
+            if (userRepository.resetPassword(userId, encodedPassword, now) == 0) {
+                authMetrics.count(Operation.PASSWORD_RESET, Outcome.ERROR);
+                return false;
+            }
+            refreshTokenService.revokeAll(userId);
+            tokenRevocationService.revokeAllForUser(userId, now);
+            authMetrics.count(Operation.PASSWORD_RESET, Outcome.SUCCESS);
+            return true;
+        }, authPersistenceExecutor);
+    }
+    
+    /**
+     * Submit the new password's hash, counting a saturated pool before the rejection propagates
+     */
+    private CompletableFuture<String> hash(String rawPassword) {
+        try {
+            return passwordHashingService.encode(rawPassword);
+        } catch (RejectedExecutionException e) {
+            authMetrics.count(Operation.PASSWORD_RESET, Outcome.BUSY);
+            throw e;
+        }
+    }
+    
+    private static String key(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
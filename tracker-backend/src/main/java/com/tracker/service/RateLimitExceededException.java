@@ -0,0 +1,18 @@
+package com.tracker.service;
+
+/**
+ * Thrown when a client or identifier is over its request limit for an endpoint
+ */
+public class RateLimitExceededException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String endpoint, long retryAfterSeconds) {
+        super("Too many " + endpoint + " attempts");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,188 @@
+package com.tracker.service;
+
+import com.tracker.util.SlidingWindowRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding-window throttling for the unauthenticated auth endpoints, applied in the
+ * controller before any database lookup or password hashing.
+ * Each endpoint is limited per client IP and per submitted identifier (login
+ * identifier, registration email, password-reset identifier); a limit of 0 turns
+ * that check off. Token introspection is limited per client IP only.
+ */
+@Service
+public class RateLimitService {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.ratelimit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${auth.ratelimit.window-seconds:60}")
+    private long windowSeconds;
+    
+    @Value("${auth.ratelimit.maximum-keys:100000}")
+    private long maximumKeys;
+    
+    @Value("${auth.ratelimit.login.per-ip:30}")
+    private int loginPerIp;
+    
+    @Value("${auth.ratelimit.login.per-identifier:5}")
+    private int loginPerIdentifier;
+    
+    @Value("${auth.ratelimit.register.per-ip:10}")
+    private int registerPerIp;
+    
+    @Value("${auth.ratelimit.register.per-identifier:3}")
+    private int registerPerIdentifier;
+    
+    @Value("${auth.ratelimit.forgot-password.per-ip:10}")
+    private int forgotPasswordPerIp;
+    
+    @Value("${auth.ratelimit.forgot-password.per-identifier:3}")
+    private int forgotPasswordPerIdentifier;
+    
+    @Value("${auth.ratelimit.reset-code.per-ip:20}")
+    private int resetCodePerIp;
+    
+    @Value("${auth.ratelimit.reset-code.per-identifier:10}")
+    private int resetCodePerIdentifier;
+    
+    @Value("${auth.ratelimit.introspect.per-ip:60}")
+    private int introspectPerIp;
+    
+    private Limits login;
+    private Limits register;
+    private Limits forgotPassword;
+    private Limits resetCode;
+    private Limits introspect;
+    
+    @PostConstruct
+    void init() {
+        login = new Limits("login", loginPerIp, loginPerIdentifier);
+        register = new Limits("register", registerPerIp, registerPerIdentifier);
+        forgotPassword = new Limits("forgot-password", forgotPasswordPerIp, forgotPasswordPerIdentifier);
+        resetCode = new Limits("reset-code", resetCodePerIp, resetCodePerIdentifier);
+        introspect = new Limits("introspect", introspectPerIp, 0);
+    }
+    
+    /**
+     * Throws RateLimitExceededException if this login attempt is over either limit
+     */
+    public void checkLogin(String clientIp, String identifier) {
+        login.check(clientIp, identifier);
+    }
+    
+    /**
+     * Throws RateLimitExceededException if this registration is over the client IP limit.
+     * The per-email limit is checked separately with checkRegisterIdentifier.
+     */
+    public void checkRegisterIp(String clientIp) {
+        register.check(clientIp, null);
+    }
+    
+    /**
+     * Throws RateLimitExceededException if this registration is over the per-email limit;
+     * only for requests that will actually register, not Idempotency-Key replays
+     */
+    public void checkRegisterIdentifier(String companyEmail) {
+        register.check(null, companyEmail);
+    }
+    
+    /**
+     * Throws RateLimitExceededException if this reset request is over either limit
+     */
+    public void checkForgotPassword(String clientIp, String identifier) {
+        forgotPassword.check(clientIp, identifier);
+    }
+    
+    /**
+     * Throws RateLimitExceededException if this reset code check or password reset is over either limit
+     */
+    public void checkResetCode(String clientIp, String identifier) {
+        resetCode.check(clientIp, identifier);
+    }
+    
+    /**
+     * Throws RateLimitExceededException if this introspection batch is over the client's limit
+     */
+    public void checkIntrospect(String clientIp) {
+        introspect.check(clientIp, null);
+    }
+    
+    /**
+     * IP and identifier limiters for one endpoint
+     */
+    private final class Limits {
+        
+        private final String endpoint;
+        private final SlidingWindowRateLimiter byIp;
+        private final SlidingWindowRateLimiter byIdentifier;
+        private final Counter ipRejections;
+        private final Counter identifierRejections;
+        
+        private Limits(String endpoint, int perIp, int perIdentifier) {
+            this.endpoint = endpoint;
+            this.byIp = limiter(endpoint, "ip", perIp);
+            this.byIdentifier = limiter(endpoint, "identifier", perIdentifier);
+            this.ipRejections = rejections(endpoint, "ip");
+            this.identifierRejections = rejections(endpoint, "identifier");
+        }
+        
+        // IP first, so a spray across many identifiers doesn't use up their budgets
+        private void check(String clientIp, String identifier) {
+            if (!enabled) {
+                return;
+            }
+            acquire(byIp, clientIp, ipRejections);
+            if (identifier != null) {
+                acquire(byIdentifier, identifier.trim().toLowerCase(Locale.ROOT), identifierRejections);
+            }
+        }
+        
+        private void acquire(SlidingWindowRateLimiter limiter, String key, Counter rejections) {
+            if (limiter == null || key == null) {
+                return;
+            }
+            long waitNanos = limiter.tryAcquire(key);
+            if (waitNanos > 0) {
+                rejections.increment();
+                long second = TimeUnit.SECONDS.toNanos(1);
+                throw new RateLimitExceededException(endpoint, (waitNanos + second - 1) / second);
+            }
+        }
+    }
+    
+    private SlidingWindowRateLimiter limiter(String endpoint, String key, int limit) {
+        if (limit <= 0) {
+            return null;
+        }
+        SlidingWindowRateLimiter limiter =
+                new SlidingWindowRateLimiter(limit, Duration.ofSeconds(windowSeconds), maximumKeys);
+        Gauge.builder("auth.ratelimit.keys", limiter, SlidingWindowRateLimiter::estimatedSize)
+                .description("Keys currently tracked by a rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("key", key)
+                .register(meterRegistry);
+        return limiter;
+    }
+    
+    private Counter rejections(String endpoint, String key) {
+        return Counter.builder("auth.ratelimit.rejected")
+                .description("Requests rejected with 429 by a rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+}
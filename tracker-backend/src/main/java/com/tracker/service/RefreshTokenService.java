@@ -0,0 +1,149 @@
+package com.tracker.service;
+
+import com.tracker.dto.AuthResponse;
+import com.tracker.entity.RefreshToken;
+import com.tracker.repository.RefreshTokenRepository;
+import com.tracker.service.AuthMetrics.Operation;
+import com.tracker.service.AuthMetrics.Outcome;
+import com.tracker.service.AuthMetrics.Stage;
+import com.tracker.util.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opaque refresh tokens with rotation and reuse detection.
+ * Only a SHA-256 hash of each token is stored. Exchanging a token marks it used and
+ * issues a new one in the same family; presenting a used or revoked token again means
+ * it was copied, so the whole family is revoked and the user has to log in again.
+ * A refresh is one unique-index lookup plus a conditional update, with no password hashing.
+ */
+@Service
+public class RefreshTokenService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    @Value("${jwt.refresh.expiration:2592000000}")
+    private long refreshExpiration;
+    
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    private final AtomicLong nextSweep = new AtomicLong();
+    
+    /**
+     * Start a new token family for a fresh login or registration and return the raw token
+     */
+    @Transactional
+    public String issue(Long userId, String companyEmail, String empId, String fullName) {
+        sweepExpired();
+        return issue(UUID.randomUUID().toString(), userId, companyEmail, empId, fullName);
+    }
+    
+    /**
+     * Exchange a refresh token for a new access token and refresh token
+     */
+    @Transactional
+    public AuthResponse rotate(String rawToken) {
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (stored.isEmpty() || stored.get().isRevoked() || stored.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            authMetrics.count(Operation.REFRESH, Outcome.BAD_CREDENTIALS);
+            return new AuthResponse("Invalid refresh token");
+        }
+        
+        RefreshToken current = stored.get();
+        if (refreshTokenRepository.markUsed(current.getId(), LocalDateTime.now()) == 0) {
+            // Already exchanged: a second holder means the token was copied
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            authMetrics.count(Operation.REFRESH, Outcome.REUSED);
+            log.warn("Refresh token reuse detected for user {}, revoking its token family", current.getUserId());
+            return new AuthResponse("Invalid refresh token");
+        }
+        
+        String refreshToken = issue(current.getFamilyId(), current.getUserId(),
+                current.getCompanyEmail(), current.getEmpId(), current.getFullName());
+        String token = authMetrics.time(Stage.TOKEN_CREATE, () -> jwtUtil.generateToken(
+            current.getCompanyEmail(),
+            current.getUserId(),
+            current.getFullName()
+        ));
+        
+        authMetrics.count(Operation.REFRESH, Outcome.SUCCESS);
+        AuthResponse response = new AuthResponse(token, current.getUserId(), current.getFullName(),
+                current.getEmpId(), current.getCompanyEmail());
+        response.setRefreshToken(refreshToken);
+        return response;
+    }
+    
+    /**
+     * Revoke the family of a refresh token (logout); unknown tokens are ignored
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+    
+    /**
+     * Revoke every refresh token of a user, signing out all of their sessions
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+    
+    private String issue(String familyId, Long userId, String companyEmail, String empId, String fullName) {
+        byte[] value = new byte[32];
+        secureRandom.nextBytes(value);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+        
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration));
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, userId, companyEmail, empId, fullName, expiresAt));
+        return rawToken;
+    }
+    
+    // Used tokens are kept until expiry so that their reuse is still detected
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long sweepAt = nextSweep.get();
+        if (now >= sweepAt && nextSweep.compareAndSet(sweepAt, now + SWEEP_INTERVAL_MILLIS)) {
+            int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            log.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+    
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tracker.dto.AuthResponse;
+import com.tracker.dto.UserRegistrationDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates registrations retried with the same Idempotency-Key.
+ * While the first request is in flight, duplicates wait on its future instead of repeating
+ * the existence checks, the hash and the insert (single flight). A successful result is then
+ * replayed for auth.idempotency.ttl-seconds; failed registrations aren't kept, so they can be
+ * retried. Each key is bound to an HMAC of the request body, and a key reused with a
+ * different body is rejected. Keys are only known to the instance that saw them.
+ */
+@Service
+public class RegistrationIdempotencyService {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.idempotency.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    @Value("${auth.idempotency.maximum-keys:10000}")
+    private long maximumKeys;
+    
+    // In-flight registrations; bounded by the concurrency limit on /auth/register
+    private final Map<String, Registration> inFlight = new ConcurrentHashMap<>();
+    
+    private Cache<String, Registration> completed;
+    
+    private SecretKeySpec fingerprintKey;
+    
+    private Counter executed;
+    private Counter joined;
+    private Counter replayed;
+    private Counter conflicts;
+    
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumKeys)
+                .build();
+        
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        fingerprintKey = new SecretKeySpec(key, "HmacSHA256");
+        
+        executed = requests("executed");
+        joined = requests("joined");
+        replayed = requests("replayed");
+        conflicts = requests("conflict");
+        Gauge.builder("auth.idempotency.inflight", inFlight, Map::size)
+                .description("Registrations in flight under an Idempotency-Key")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Run the registration once per key: returns the in-flight or recent result for the
+     * key if there is one, otherwise calls registration. Throws
+     * IdempotencyKeyReusedException if the key was used with a different body.
+     */
+    public CompletableFuture<AuthResponse> execute(String idempotencyKey, UserRegistrationDto registrationDto,
+                                                   Supplier<CompletableFuture<AuthResponse>> registration) {
+        byte[] fingerprint = fingerprint(registrationDto);
+        
+        Registration done = completed.getIfPresent(idempotencyKey);
+        if (done != null) {
+            return replay(done, fingerprint);
+        }
+        
+        Registration mine = new Registration(fingerprint);
+        Registration running = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (running != null) {
+            running.checkFingerprint(fingerprint, conflicts);
+            joined.increment();
+            return running.result.copy();
+        }
+        
+        // The previous holder of the key may have finished between the two lookups
+        done = completed.getIfPresent(idempotencyKey);
+        if (done != null) {
+            inFlight.remove(idempotencyKey, mine);
+            mine.result.complete(done.result.join());
+            return replay(done, fingerprint);
+        }
+        
+        executed.increment();
+        CompletableFuture<AuthResponse> result;
+        try {
+            result = registration.get();
+        } catch (RuntimeException e) {
+            // Rejected before starting (e.g. over the concurrency limit): let waiters and retries see it
+            inFlight.remove(idempotencyKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+        
+        result.whenComplete((response, error) -> {
+            // Cache before leaving the in-flight map, so no duplicate slips through the gap
+            if (error == null && response.getToken() != null) {
+                completed.put(idempotencyKey, mine);
+            }
+            inFlight.remove(idempotencyKey, mine);
+            if (error != null) {
+                mine.result.completeExceptionally(error);
+            } else {
+                mine.result.complete(response);
+            }
+        });
+        return mine.result.copy();
+    }
+    
+    private CompletableFuture<AuthResponse> replay(Registration done, byte[] fingerprint) {
+        done.checkFingerprint(fingerprint, conflicts);
+        replayed.increment();
+        return done.result.copy();
+    }
+    
+    // Every field, the password included, so a changed retry is never mistaken for the original
+    private byte[] fingerprint(UserRegistrationDto registrationDto) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(fingerprintKey);
+            for (String field : new String[] {
+                    registrationDto.getFullName(), registrationDto.getDepartment(), registrationDto.getEmpId(),
+                    registrationDto.getPassword(), registrationDto.getConfirmPassword(),
+                    registrationDto.getMobileNo(), registrationDto.getCompanyEmail() }) {
+                mac.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) 0);
+            }
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+    
+    private Counter requests(String result) {
+        return Counter.builder("auth.idempotency.requests")
+                .description("Registrations sent with an Idempotency-Key, by how they were served")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * One registration and the body it was made with
+     */
+    private static final class Registration {
+        
+        private final byte[] fingerprint;
+        private final CompletableFuture<AuthResponse> result = new CompletableFuture<>();
+        
+        private Registration(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+        
+        private void checkFingerprint(byte[] other, Counter conflicts) {
+            if (!MessageDigest.isEqual(fingerprint, other)) {
+                conflicts.increment();
+                throw new IdempotencyKeyReusedException();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.tracker.service;
+
+import com.tracker.entity.RevokedToken;
+import com.tracker.repository.RevokedTokenRepository;
+import com.tracker.repository.UserRepository;
+import com.tracker.util.DecodedToken;
+import com.tracker.util.TokenDenylist;
+import com.tracker.util.VerifiedTokenCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Token revocation: each revoked jti is written to revoked_tokens, and each per-user
+ * cutoff (password reset) to users.tokens_not_before, and both are added to the
+ * in-memory TokenDenylist that the request path checks. The denylist is reloaded
+ * from the tables at startup, so revocations survive restarts; revocations made by
+ * other instances are picked up on their next restart.
+ */
+@Service
+public class TokenRevocationService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TokenDenylist tokenDenylist;
+    
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${jwt.expiration}")
+    private long accessTokenLifetimeMillis;
+    
+    @PostConstruct
+    void init() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> active = new TransactionTemplate(transactionManager).execute(status -> {
+            revokedTokenRepository.deleteExpired(now);
+            return revokedTokenRepository.findActive(now);
+        });
+        for (Object[] row : active) {
+            tokenDenylist.add((String) row[0], toEpochMillis((LocalDateTime) row[1]));
+        }
+        
+        // Cutoffs older than one token lifetime no longer cover any valid token
+        List<Object[]> cutoffs = userRepository.findTokenCutoffsAfter(now.minusNanos(accessTokenLifetimeMillis * 1_000_000));
+        for (Object[] row : cutoffs) {
+            tokenDenylist.revokeIssuedBefore((Long) row[0], toEpochMillis((LocalDateTime) row[1]));
+        }
+        log.info("Loaded {} active token revocations and {} user token cutoffs", active.size(), cutoffs.size());
+    }
+    
+    /**
+     * Revoke a verified token for the rest of its lifetime.
+     * Returns false for tokens without a jti, which cannot be revoked individually.
+     */
+    public boolean revoke(String token, DecodedToken decodedToken) {
+        if (decodedToken.getId() == null) {
+            return false;
+        }
+        
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(decodedToken.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(decodedToken.getId(), decodedToken.getUserId(), expiresAt));
+        tokenDenylist.add(decodedToken.getId(), decodedToken.getExpiration().getTime());
+        verifiedTokenCache.invalidate(token);
+        return true;
+    }
+    
+    /**
+     * Revoke every access token of the user issued up to the cutoff. The cutoff itself is
+     * persisted by the caller in users.tokens_not_before, together with the change that caused it.
+     */
+    public void revokeAllForUser(Long userId, LocalDateTime notBefore) {
+        tokenDenylist.revokeIssuedBefore(userId, toEpochMillis(notBefore));
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,192 @@
+package com.tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tracker.dto.UserProfileDto;
+import com.tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local read-through cache of user profiles by id, with email and empId indexes.
+ * Email and empId never change after registration, so the indexes only map to an
+ * id and every write invalidates through the id (see UserCacheInvalidator).
+ * Only found users are cached; absent lookups go to the database each time.
+ */
+@Service
+public class UserCache {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${user.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${user.cache.maximum-size:10000}")
+    private long maximumSize;
+    
+    @Value("${user.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    private Cache<Long, UserProfileDto> profilesById;
+    private Cache<String, Long> idsByEmail;
+    private Cache<String, Long> idsByEmpId;
+    
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        profilesById = newCache();
+        idsByEmail = newCache();
+        idsByEmpId = newCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, profilesById, "user.profile");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "user.id-by-email");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmpId, "user.id-by-empid");
+    }
+    
+    /**
+     * Get a user profile by ID
+     */
+    public Optional<UserProfileDto> getProfile(Long id) {
+        if (!enabled) {
+            return userRepository.findProfileById(id);
+        }
+        UserProfileDto profile = profilesById.getIfPresent(id);
+        if (profile == null) {
+            Optional<UserProfileDto> loaded = userRepository.findProfileById(id);
+            loaded.ifPresent(this::put);
+            return loaded;
+        }
+        return Optional.of(profile);
+    }
+    
+    /**
+     * Get a user profile by company email
+     */
+    public Optional<UserProfileDto> getProfileByEmail(String companyEmail) {
+        if (!enabled) {
+            return userRepository.findProfileByCompanyEmail(companyEmail);
+        }
+        Long id = idsByEmail.getIfPresent(normalize(companyEmail));
+        if (id != null) {
+            UserProfileDto profile = profilesById.getIfPresent(id);
+            if (profile != null) {
+                return Optional.of(profile);
+            }
+        }
+        Optional<UserProfileDto> loaded = userRepository.findProfileByCompanyEmail(companyEmail);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+    
+    /**
+     * Get a user profile by employee ID
+     */
+    public Optional<UserProfileDto> getProfileByEmpId(String empId) {
+        if (!enabled) {
+            return userRepository.findProfileByEmpId(empId);
+        }
+        Long id = idsByEmpId.getIfPresent(normalize(empId));
+        if (id != null) {
+            UserProfileDto profile = profilesById.getIfPresent(id);
+            if (profile != null) {
+                return Optional.of(profile);
+            }
+        }
+        Optional<UserProfileDto> loaded = userRepository.findProfileByEmpId(empId);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+    
+    /**
+     * Drop every cached entry for a user
+     */
+    public void evict(Long id, String companyEmail, String empId) {
+        if (!enabled) {
+            return;
+        }
+        if (id != null) {
+            profilesById.invalidate(id);
+        }
+        if (companyEmail != null) {
+            idsByEmail.invalidate(normalize(companyEmail));
+        }
+        if (empId != null) {
+            idsByEmpId.invalidate(normalize(empId));
+        }
+    }
+    
+    /**
+     * Change the maximum size of each cache at runtime
+     */
+    public void resize(long newMaximumSize) {
+        if (!enabled) {
+            return;
+        }
+        this.maximumSize = newMaximumSize;
+        profilesById.policy().eviction().ifPresent(eviction -> eviction.setMaximum(newMaximumSize));
+        idsByEmail.policy().eviction().ifPresent(eviction -> eviction.setMaximum(newMaximumSize));
+        idsByEmpId.policy().eviction().ifPresent(eviction -> eviction.setMaximum(newMaximumSize));
+    }
+    
+    /**
+     * Size and hit statistics for each cache
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maximumSize", maximumSize);
+        stats.put("ttlSeconds", ttlSeconds);
+        if (enabled) {
+            stats.put("profilesById", describe(profilesById));
+            stats.put("idsByEmail", describe(idsByEmail));
+            stats.put("idsByEmpId", describe(idsByEmpId));
+        }
+        return stats;
+    }
+    
+    private void put(UserProfileDto profile) {
+        profilesById.put(profile.getId(), profile);
+        idsByEmail.put(normalize(profile.getCompanyEmail()), profile.getId());
+        idsByEmpId.put(normalize(profile.getEmpId()), profile.getId());
+    }
+    
+    private <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+    
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.estimatedSize());
+        description.put("hitRatio", cacheStats.hitRate());
+        description.put("hits", cacheStats.hitCount());
+        description.put("misses", cacheStats.missCount());
+        description.put("evictions", cacheStats.evictionCount());
+        return description;
+    }
+    
+    // Matches MySQL's case-insensitive comparison of email and emp_id
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,46 @@
+package com.tracker.service;
+
+import com.tracker.entity.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener on User that evicts the user from UserCache on every insert,
+ * update (including password changes) and delete made through the repository.
+ * Evicts again after commit, which drops anything a read cached between the flush and
+ * the commit. A read that loaded the old row before the commit but only caches it after
+ * that second eviction can still leave a stale entry until it expires (user.cache.ttl-seconds).
+ */
+@Component
+public class UserCacheInvalidator {
+    
+    // Lazy: UserCache depends on the repository, which depends on this listener
+    @Autowired
+    @Lazy
+    private UserCache userCache;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidate(User user) {
+        Long id = user.getId();
+        String companyEmail = user.getCompanyEmail();
+        String empId = user.getEmpId();
+        
+        userCache.evict(id, companyEmail, empId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.evict(id, companyEmail, empId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.tracker.service;
+
+import com.tracker.repository.UserRepository;
+import com.tracker.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Bloom-filter front for email and employee ID existence checks.
+ * A definite negative skips the database; a possible positive is confirmed through
+ * UserCache, which only queries on a cache miss. Filters are filled from the users table at startup and updated
+ * on every insert made by this instance. Rows inserted by other instances are picked up
+ * by the periodic rebuild (user.bloom.rebuild-interval-seconds); until then check-email
+ * may report their emails as available, and duplicate registrations are still caught by
+ * the unique constraints on insert.
+ */
+@Service
+public class UserExistenceFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceFilter.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${user.bloom.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${user.bloom.expected-insertions:1000000}")
+    private long expectedInsertions;
+    
+    @Value("${user.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    
+    private final Stats emailStats = new Stats();
+    private final Stats empIdStats = new Stats();
+    
+    // Published filters and, while rebuild() is scanning, the ones replacing them; swapped as
+    // one reference so an insert racing the swap always reaches the filters that survive it
+    private volatile Filters filters = Filters.NONE;
+    
+    // One rebuild at a time, or a finishing rebuild would stop inserts reaching the other's filters
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        registerMetrics("email", emailStats);
+        registerMetrics("empId", empIdStats);
+        rebuild();
+    }
+    
+    /**
+     * Pick up users registered through other instances
+     */
+    @Scheduled(initialDelayString = "${user.bloom.rebuild-interval-seconds:300}",
+            fixedDelayString = "${user.bloom.rebuild-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Existence filter rebuild failed, keeping the current filters: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Reload both filters from the users table and swap them in
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    private void load() {
+        BloomFilter newEmails = newFilter();
+        BloomFilter newEmpIds = newFilter();
+        Filters current = filters;
+        filters = new Filters(current.emails, current.empIds, newEmails, newEmpIds);
+        boolean loaded = false;
+        try {
+            long start = System.currentTimeMillis();
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            Long count = transactionTemplate.execute(status -> {
+                long rows = 0;
+                try (Stream<Object[]> keys = userRepository.streamAllLoginKeys()) {
+                    for (Object[] row : (Iterable<Object[]>) keys::iterator) {
+                        newEmails.put(normalize((String) row[0]));
+                        newEmpIds.put(normalize((String) row[1]));
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+            filters = new Filters(newEmails, newEmpIds, null, null);
+            loaded = true;
+            log.info("Loaded {} users into existence filters in {} ms", count, System.currentTimeMillis() - start);
+        } finally {
+            if (!loaded) {
+                filters = current;
+            }
+        }
+    }
+    
+    BloomFilter newFilter() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+    
+    /**
+     * Check if a company email is registered
+     */
+    public boolean emailExists(String email) {
+        return exists(filters.emails, email, emailStats, value -> userCache.getProfileByEmail(value).isPresent());
+    }
+    
+    /**
+     * Check if an employee ID is registered
+     */
+    public boolean empIdExists(String empId) {
+        return exists(filters.empIds, empId, empIdStats, value -> userCache.getProfileByEmpId(value).isPresent());
+    }
+    
+    /**
+     * Record a newly inserted user
+     */
+    public void add(String email, String empId) {
+        Filters current = filters;
+        if (current.emails != null) {
+            current.emails.put(normalize(email));
+            current.empIds.put(normalize(empId));
+        }
+        if (current.newEmails != null) {
+            current.newEmails.put(normalize(email));
+            current.newEmpIds.put(normalize(empId));
+        }
+    }
+    
+    private boolean exists(BloomFilter filter, String value, Stats stats, Predicate<String> databaseCheck) {
+        if (filter == null) {
+            return databaseCheck.test(value);
+        }
+        if (!filter.mightContain(normalize(value))) {
+            stats.negatives.increment();
+            return false;
+        }
+        
+        boolean exists = databaseCheck.test(value);
+        if (exists) {
+            stats.truePositives.increment();
+        } else {
+            stats.falsePositives.increment();
+        }
+        return exists;
+    }
+    
+    // MySQL's default collation compares case-insensitively, so the filter must too
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private void registerMetrics(String filterName, Stats stats) {
+        FunctionCounter.builder("user.bloom.checks", stats.negatives, LongAdder::sum)
+                .tag("filter", filterName).tag("result", "negative")
+                .description("Existence checks answered by the Bloom filter alone")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.bloom.checks", stats.truePositives, LongAdder::sum)
+                .tag("filter", filterName).tag("result", "true_positive")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.bloom.checks", stats.falsePositives, LongAdder::sum)
+                .tag("filter", filterName).tag("result", "false_positive")
+                .description("Possible positives that the database reported absent")
+                .register(meterRegistry);
+        Gauge.builder("user.bloom.false.positive.rate", stats, Stats::falsePositiveRate)
+                .tag("filter", filterName)
+                .description("False positives / all absent values checked")
+                .register(meterRegistry);
+    }
+    
+    private record Filters(BloomFilter emails, BloomFilter empIds, BloomFilter newEmails, BloomFilter newEmpIds) {
+        
+        static final Filters NONE = new Filters(null, null, null, null);
+    }
+    
+    private static class Stats {
+        final LongAdder negatives = new LongAdder();
+        final LongAdder truePositives = new LongAdder();
+        final LongAdder falsePositives = new LongAdder();
+        
+        double falsePositiveRate() {
+            long fp = falsePositives.sum();
+            long absent = fp + negatives.sum();
+            return absent == 0 ? 0.0 : (double) fp / absent;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.tracker.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limit using additive-increase / multiplicative-decrease.
+ * Every completed request is a sample: one slower than the latency threshold, or one
+ * dropped downstream, multiplies the limit by the backoff ratio; a fast one while the
+ * limit is at least half used adds 1/limit, so the limit grows by about one per
+ * limit's worth of requests. Requests beyond the current limit are refused up front.
+ */
+public class AimdConcurrencyLimiter {
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    // Double bits of the limit, updated with compare-and-set so release() takes no lock
+    private final AtomicLong limitBits = new AtomicLong();
+    
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                  long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits.set(Double.doubleToRawLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+    
+    /**
+     * Take a slot if one is free under the current limit.
+     * Every successful call must be followed by exactly one release().
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Return a slot and adjust the limit from the request's latency
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        boolean backOff = dropped || latencyNanos > latencyThresholdNanos;
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (backOff) {
+                next = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                next = Math.min(maxLimit, limit + 1.0 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+    
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
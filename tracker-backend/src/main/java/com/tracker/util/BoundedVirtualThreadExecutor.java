@@ -0,0 +1,62 @@
+package com.tracker.util;
+
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every task on its own virtual thread, at most a fixed number at a time.
+ * Tasks over that limit wait on a semaphore, which parks their virtual thread without
+ * holding a carrier; once as many tasks as the queue capacity are waiting, execute()
+ * rejects like a full pool queue would. close() waits for submitted tasks to finish.
+ */
+public class BoundedVirtualThreadExecutor implements TaskExecutor, AutoCloseable {
+    
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    
+    private final int maxSubmitted;
+    private final Semaphore running;
+    private final Semaphore submitted;
+    private final ThreadFactory threadFactory;
+    
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int concurrency, int queueCapacity) {
+        this.maxSubmitted = concurrency + queueCapacity;
+        this.running = new Semaphore(concurrency);
+        this.submitted = new Semaphore(maxSubmitted);
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 1).factory();
+    }
+    
+    @Override
+    public void execute(Runnable task) {
+        if (!submitted.tryAcquire()) {
+            throw new RejectedExecutionException("Executor queue is full");
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    running.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    submitted.release();
+                }
+            }).start();
+        } catch (RuntimeException e) {
+            submitted.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public void close() throws InterruptedException {
+        if (submitted.tryAcquire(maxSubmitted, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            submitted.release(maxSubmitted);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tracker.util;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback AsyncAppender that counts the events it drops.
+ * With neverBlock the stock appender silently discards events when its queue is full, and
+ * below the discarding threshold it also discards TRACE, DEBUG and INFO; this does the same
+ * but counts them, so a saturated log pipeline shows up in metrics instead of going unnoticed.
+ * A caller racing the last free slot can still be dropped uncounted by the queue itself.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+    
+    private final LongAdder dropped = new LongAdder();
+    
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted()) {
+            int remaining = getRemainingCapacity();
+            if ((isNeverBlock() && remaining == 0)
+                    || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+                dropped.increment();
+                return;
+            }
+        }
+        super.append(event);
+    }
+    
+    /**
+     * Events dropped since startup
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
\ No newline at end of file
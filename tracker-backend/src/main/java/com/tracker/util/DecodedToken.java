@@ -0,0 +1,71 @@
+package com.tracker.util;
+
+import java.security.Principal;
+import java.util.Date;
+
+/**
+ * Immutable result of verifying a JWT once.
+ * Also serves as the authenticated principal, so getName() returns the subject.
+ */
+public final class DecodedToken implements Principal {
+    
+    private final String id;
+    private final String subject;
+    private final Long userId;
+    private final String fullName;
+    private final Date issuedAt;
+    private final Date expiration;
+    
+    public DecodedToken(String id, String subject, Long userId, String fullName, Date issuedAt, Date expiration) {
+        this.id = id;
+        this.subject = subject;
+        this.userId = userId;
+        this.fullName = fullName;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+    }
+    
+    @Override
+    public String getName() {
+        return subject;
+    }
+    
+    /**
+     * The jti claim; null for tokens issued before revocation support
+     */
+    public String getId() {
+        return id;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    /**
+     * The iat claim, at second precision; null if the token has none
+     */
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+    
+    public Date getExpiration() {
+        return new Date(expiration.getTime());
+    }
+    
+    public boolean isExpired() {
+        return expiration.getTime() <= System.currentTimeMillis();
+    }
+    
+    @Override
+    public String toString() {
+        return subject;
+    }
+}
@@ -0,0 +1,168 @@
+package com.tracker.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ES256 signing keys, identified by kid.
+ * Keys come from a PKCS12 keystore where each EC P-256 entry's alias is its kid. New
+ * tokens are signed with the active kid; every key in the store is still accepted and
+ * published in the JWK set, so a key can be rotated out once the tokens it signed
+ * have expired. Without a keystore an ephemeral key is generated at startup, which
+ * only suits a single instance and invalidates tokens on restart; jwt.keystore.required
+ * (on in the prod profile) makes that a startup failure instead.
+ */
+@Component
+public class JwtKeys {
+    
+    private static final Logger log = LoggerFactory.getLogger(JwtKeys.class);
+    
+    @Autowired
+    private ResourceLoader resourceLoader;
+    
+    @Value("${jwt.keystore.path:}")
+    private String keystorePath;
+    
+    @Value("${jwt.keystore.password:}")
+    private String keystorePassword;
+    
+    @Value("${jwt.keystore.active-kid:}")
+    private String activeKid;
+    
+    // Refuse the ephemeral key (multi-instance deployments)
+    @Value("${jwt.keystore.required:false}")
+    private boolean keystoreRequired;
+    
+    // Tokens signed with the old HS256 shared secret are accepted while this is on
+    @Value("${jwt.legacy-hs256.enabled:false}")
+    private boolean legacyHs256Enabled;
+    
+    @Value("${jwt.secret:}")
+    private String secret;
+    
+    private PrivateKey signingKey;
+    
+    private Map<String, ECPublicKey> verificationKeys;
+    
+    private SecretKey legacyKey;
+    
+    private Map<String, Object> jwkSet;
+    
+    @PostConstruct
+    void init() throws Exception {
+        Map<String, ECPublicKey> publicKeys = new LinkedHashMap<>();
+        if (keystorePath == null || keystorePath.isBlank()) {
+            if (keystoreRequired) {
+                throw new IllegalStateException("jwt.keystore.required is set but no jwt.keystore.path is configured");
+            }
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            
+            activeKid = Jwks.builder().key((ECPublicKey) keyPair.getPublic()).idFromThumbprint().build().getId();
+            signingKey = keyPair.getPrivate();
+            publicKeys.put(activeKid, (ECPublicKey) keyPair.getPublic());
+            log.warn("No jwt.keystore.path configured, signing with ephemeral key {}; tokens will not survive a restart", activeKid);
+        } else {
+            signingKey = loadKeystore(publicKeys);
+        }
+        verificationKeys = Collections.unmodifiableMap(publicKeys);
+        
+        if (legacyHs256Enabled) {
+            legacyKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        // Plain maps: JwkSet redacts its members when serialized, which public keys don't need
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        publicKeys.forEach((kid, key) -> jwks.add(new LinkedHashMap<>(Jwks.builder().key(key).id(kid)
+                .algorithm("ES256").publicKeyUse("sig").build())));
+        jwkSet = Map.of("keys", List.copyOf(jwks));
+    }
+    
+    private PrivateKey loadKeystore(Map<String, ECPublicKey> publicKeys) throws Exception {
+        char[] password = keystorePassword.toCharArray();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        Resource resource = resourceLoader.getResource(keystorePath);
+        try (InputStream in = resource.getInputStream()) {
+            keyStore.load(in, password);
+        }
+        
+        PrivateKey active = null;
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (!keyStore.isKeyEntry(alias)
+                    || !(keyStore.getCertificate(alias).getPublicKey() instanceof ECPublicKey publicKey)) {
+                continue;
+            }
+            publicKeys.put(alias, publicKey);
+            if (alias.equals(activeKid)) {
+                active = (PrivateKey) keyStore.getKey(alias, password);
+            }
+        }
+        if (active == null) {
+            throw new GeneralSecurityException("jwt.keystore.active-kid '" + activeKid + "' is not an EC key entry in " + keystorePath);
+        }
+        log.info("Loaded JWT keys {} from {}, signing with {}", publicKeys.keySet(), keystorePath, activeKid);
+        return active;
+    }
+    
+    public PrivateKey getSigningKey() {
+        return signingKey;
+    }
+    
+    public String getActiveKid() {
+        return activeKid;
+    }
+    
+    /**
+     * Public keys in JWK set form, for verifiers to cache
+     */
+    public Map<String, Object> getJwkSet() {
+        return jwkSet;
+    }
+    
+    /**
+     * Picks the verification key for a token from its header: the public key for its kid,
+     * or the legacy HMAC key for kid-less HS256 tokens if enabled. The parser then checks
+     * that the key matches the header's alg, so an HS256 header can't be verified with a
+     * public key.
+     */
+    public LocatorAdapter<Key> keyLocator() {
+        return new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String kid = header.getKeyId();
+                if (kid != null) {
+                    return verificationKeys.get(kid);
+                }
+                return "HS256".equals(header.getAlgorithm()) ? legacyKey : null;
+            }
+        };
+    }
+}
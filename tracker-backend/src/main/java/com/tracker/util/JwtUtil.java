@@ -1,30 +1,52 @@
 package com.tracker.util;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    @Autowired
+    private JwtKeys jwtKeys;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    // Built once at startup; JwtParser is immutable and thread-safe
+    private JwtParser jwtParser;
+    
+    /**
+     * Build the shared parser, which picks the verification key by the token's kid
+     */
+    @PostConstruct
+    void init() {
+        this.jwtParser = Jwts.parser()
+                .keyLocator(jwtKeys.keyLocator())
+                .build();
+    }
+    
     /**
-     * Generate signing key from secret
+     * Verify the token once and return its decoded claims.
+     * Throws JwtException if the signature is invalid or the token has expired.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public DecodedToken decodeToken(String token) {
+        final Claims claims = extractAllClaims(token);
+        return new DecodedToken(
+            claims.getId(),
+            claims.getSubject(),
+            claims.get("userId", Long.class),
+            claims.get("fullName", String.class),
+            claims.getIssuedAt(),
+            claims.getExpiration()
+        );
     }
     
     /**
@@ -53,11 +75,7 @@ public class JwtUtil {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
     
     /**
@@ -78,15 +96,20 @@ public class JwtUtil {
     }
     
     /**
-     * Create token with claims and subject
+     * Create token with claims and subject.
+     * JwtBuilder is mutable, so a fresh one is used per token. Tokens are signed with
+     * the active ES256 key and carry its kid. The random jti lets a single token be revoked.
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .header().keyId(jwtKeys.getActiveKid()).and()
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(jwtKeys.getSigningKey(), Jwts.SIG.ES256)
                 .compact();
     }
     
@@ -113,4 +136,4 @@ public class JwtUtil {
         final Claims claims = extractAllClaims(token);
         return claims.get("fullName", String.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.tracker.util;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * The formatted message, escaped for use inside a double-quoted key=value field
+ * of the prod log format, so a message is always a single unambiguous line.
+ */
+public class LogfmtMessageConverter extends MessageConverter {
+    
+    @Override
+    public String convert(ILoggingEvent event) {
+        return escape(super.convert(event));
+    }
+    
+    // Backslashes first, so the escapes added for quotes and line breaks stay unambiguous
+    public static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 64);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') {
+                        escaped.append("\\n");
+                    }
+                }
+                case '\t' -> escaped.append("\\t");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
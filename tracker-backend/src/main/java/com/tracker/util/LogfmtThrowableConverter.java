@@ -0,0 +1,21 @@
+package com.tracker.util;
+
+import ch.qos.logback.classic.pattern.ExtendedThrowableProxyConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Renders an event's stack trace as a single escaped key=value field
+ * (` exception="..."`), or nothing when the event has no throwable, so every
+ * event stays on one line in the prod log format.
+ */
+public class LogfmtThrowableConverter extends ExtendedThrowableProxyConverter {
+    
+    @Override
+    public String convert(ILoggingEvent event) {
+        String trace = super.convert(event);
+        if (trace.isEmpty()) {
+            return trace;
+        }
+        return " exception=\"" + LogfmtMessageConverter.escape(trace.strip()) + "\"";
+    }
+}
@@ -0,0 +1,199 @@
+package com.tracker.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory store of short-lived numeric one-time codes (password reset), one per key.
+ * Only an HMAC of each code is kept, under a key generated at startup. A code is valid until
+ * it expires, is used, or has had too many wrong guesses; issuing a new code for the same key
+ * replaces the old one. Checking a code is a map probe and never touches the database.
+ * Wrong guesses also count against a failure budget per user, which survives reissuing and
+ * covers every identifier of the account; once it is used up the user is locked out of the
+ * flow (no codes issued or accepted) until the lockout period has passed.
+ * The store is capped, and expired codes are swept out lazily, at most once per minute,
+ * when codes are issued. Codes are not shared between instances or kept across restarts.
+ */
+@Component
+public class OneTimeCodeStore {
+    
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    private static final int CODE_BOUND = 1_000_000; // 6 digits
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${auth.reset.code-ttl-seconds:600}")
+    private long ttlSeconds;
+    
+    @Value("${auth.reset.maximum-codes:100000}")
+    private int maximumCodes;
+    
+    @Value("${auth.reset.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${auth.reset.max-failures-per-user:10}")
+    private int maxFailuresPerUser;
+    
+    @Value("${auth.reset.lockout-seconds:3600}")
+    private long lockoutSeconds;
+    
+    private final Map<String, Entry> codes = new ConcurrentHashMap<>();
+    
+    // userId -> wrong guesses in the current window, across reissues and identifiers
+    private final Map<Long, FailureBudget> failures = new ConcurrentHashMap<>();
+    
+    private final AtomicLong nextSweep = new AtomicLong();
+    
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    private SecretKeySpec hmacKey;
+    
+    @PostConstruct
+    void init() {
+        byte[] key = new byte[32];
+        secureRandom.nextBytes(key);
+        hmacKey = new SecretKeySpec(key, "HmacSHA256");
+        
+        Gauge.builder("auth.reset.codes", codes, Map::size)
+                .description("Outstanding one-time codes, including expired ones not yet swept")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Issue a new code for the key, replacing any outstanding one.
+     * Returns null if the store is full of unexpired codes; callers check isLocked() first.
+     */
+    public String issue(String key, Long userId) {
+        long now = System.currentTimeMillis();
+        long sweepAt = nextSweep.get();
+        if (now >= sweepAt && nextSweep.compareAndSet(sweepAt, now + SWEEP_INTERVAL_MILLIS)) {
+            codes.values().removeIf(entry -> entry.expiresAtMillis <= now);
+            failures.values().removeIf(budget -> budget.resetsAtMillis <= now);
+        }
+        if (isLocked(userId)) {
+            return null;
+        }
+        if (codes.size() >= maximumCodes && !codes.containsKey(key)) {
+            return null;
+        }
+        
+        String code = String.format("%06d", secureRandom.nextInt(CODE_BOUND));
+        codes.put(key, new Entry(userId, hmac(key, code), now + TimeUnit.SECONDS.toMillis(ttlSeconds)));
+        return code;
+    }
+    
+    /**
+     * The user the code was issued for if it is valid, otherwise null.
+     * A wrong code counts against the key's attempt limit.
+     */
+    public Long check(String key, String code) {
+        Entry entry = codes.get(key);
+        return entry != null && matches(key, entry, code) ? entry.userId : null;
+    }
+    
+    /**
+     * Like check, but a valid code is removed so that it can't be used again.
+     * Of several concurrent calls with the right code only one succeeds; it also
+     * clears the user's failure budget.
+     */
+    public Long consume(String key, String code) {
+        Entry entry = codes.get(key);
+        if (entry != null && matches(key, entry, code) && codes.remove(key, entry)) {
+            failures.remove(entry.userId);
+            return entry.userId;
+        }
+        return null;
+    }
+    
+    /**
+     * Whether the user has used up their failure budget and is locked out of the flow
+     */
+    public boolean isLocked(Long userId) {
+        FailureBudget budget = failures.get(userId);
+        return budget != null && budget.failures >= maxFailuresPerUser
+                && budget.resetsAtMillis > System.currentTimeMillis();
+    }
+    
+    private boolean matches(String key, Entry entry, String code) {
+        if (entry.expiresAtMillis <= System.currentTimeMillis() || entry.failedAttempts.get() >= maxAttempts
+                || isLocked(entry.userId)) {
+            codes.remove(key, entry);
+            return false;
+        }
+        if (code == null || !MessageDigest.isEqual(entry.hash, hmac(key, code))) {
+            if (entry.failedAttempts.incrementAndGet() >= maxAttempts) {
+                codes.remove(key, entry);
+            }
+            recordFailure(entry.userId);
+            return false;
+        }
+        return true;
+    }
+    
+    // The window starts at the first failure; using up the budget restarts it as the lockout
+    private void recordFailure(Long userId) {
+        long now = System.currentTimeMillis();
+        long lockoutMillis = TimeUnit.SECONDS.toMillis(lockoutSeconds);
+        FailureBudget budget = failures.compute(userId, (id, current) -> {
+            if (current == null || current.resetsAtMillis <= now) {
+                return new FailureBudget(1, now + lockoutMillis);
+            }
+            int failed = current.failures + 1;
+            return new FailureBudget(failed, failed >= maxFailuresPerUser ? now + lockoutMillis : current.resetsAtMillis);
+        });
+        if (budget.failures >= maxFailuresPerUser) {
+            codes.values().removeIf(entry -> entry.userId.equals(userId));
+        }
+    }
+    
+    // Bound to the key, so a code is only valid for the identifier it was sent for
+    private byte[] hmac(String key, String code) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            mac.update(key.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(code.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+    
+    public int size() {
+        return codes.size();
+    }
+    
+    private record FailureBudget(int failures, long resetsAtMillis) {}
+    
+    private static final class Entry {
+        
+        private final Long userId;
+        private final byte[] hash;
+        private final long expiresAtMillis;
+        private final AtomicInteger failedAttempts = new AtomicInteger();
+        
+        private Entry(Long userId, byte[] hash, long expiresAtMillis) {
+            this.userId = userId;
+            this.hash = hash;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
\ No newline at end of file
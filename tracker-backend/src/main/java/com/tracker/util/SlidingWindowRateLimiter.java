@@ -0,0 +1,90 @@
+package com.tracker.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-key sliding-window rate limiter.
+ * Each key keeps the counts of its current and previous fixed windows and weights
+ * the previous one by how much of it still overlaps the sliding window, so memory
+ * per key is constant. Keys live in a bounded Caffeine cache and are dropped once
+ * idle for two windows, when their counts could no longer affect a decision.
+ * Only the counters of a single key are locked while a request is admitted, with a
+ * ReentrantLock rather than a monitor so virtual threads don't pin their carrier.
+ */
+public class SlidingWindowRateLimiter {
+    
+    private final int limit;
+    private final long windowNanos;
+    private final Cache<String, Window> windows;
+    
+    public SlidingWindowRateLimiter(int limit, Duration window, long maximumKeys) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+    
+    /**
+     * Count one request for the key if it is within the limit.
+     * Returns 0 when the request is admitted, otherwise the nanoseconds until
+     * the key is expected to be admitted again (rejected requests are not counted).
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        Window window = windows.get(key, k -> new Window(now));
+        window.lock.lock();
+        try {
+            return window.tryAcquire(now);
+        } finally {
+            window.lock.unlock();
+        }
+    }
+    
+    public long estimatedSize() {
+        return windows.estimatedSize();
+    }
+    
+    private final class Window {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        
+        private long start;
+        private int previous;
+        private int current;
+        
+        private Window(long start) {
+            this.start = start;
+        }
+        
+        private long tryAcquire(long now) {
+            long elapsedWindows = (now - start) / windowNanos;
+            if (elapsedWindows > 0) {
+                previous = elapsedWindows == 1 ? current : 0;
+                current = 0;
+                start += elapsedWindows * windowNanos;
+            }
+            
+            long intoWindow = now - start;
+            double previousWeight = 1.0 - (double) intoWindow / windowNanos;
+            if (previous * previousWeight + current < limit) {
+                current++;
+                return 0;
+            }
+            
+            // Over the limit: the previous window's share shrinks linearly, so solve for
+            // when it leaves room for one more request; if the current window alone is
+            // full, wait until it becomes the (decaying) previous window
+            if (current < limit && previous > 0) {
+                double freeAt = windowNanos * (1.0 - (double) (limit - current) / previous);
+                return Math.max(1, (long) Math.ceil(freeAt) - intoWindow);
+            }
+            return windowNanos - intoWindow;
+        }
+    }
+}
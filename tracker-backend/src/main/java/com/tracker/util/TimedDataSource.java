@@ -0,0 +1,97 @@
+package com.tracker.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource wrapper that times how long each connection takes to get out of the pool,
+ * tagged with the repository method that needed it. Behind a LazyConnectionDataSourceProxy
+ * that is the first statement's repository call, so a saturated pool shows up per query
+ * type, separately from the query time measured by the repository metrics.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+    
+    // Set by the repository interceptor for the duration of the outermost repository call
+    private static final ThreadLocal<RepositoryCall> CURRENT = new ThreadLocal<>();
+    
+    private static final RepositoryCall UNATTRIBUTED = new RepositoryCall("none", "none");
+    
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<RepositoryCall, Meters> meters = new ConcurrentHashMap<>();
+    
+    public TimedDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        RepositoryCall call = CURRENT.get();
+        Meters callMeters = meters.computeIfAbsent(call != null ? call : UNATTRIBUTED, this::register);
+        
+        long start = System.nanoTime();
+        try {
+            Connection connection = super.getConnection();
+            callMeters.acquire.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return connection;
+        } catch (SQLException e) {
+            // Pool timeout, or the database refused a new connection
+            callMeters.failures.increment();
+            throw e;
+        }
+    }
+    
+    private Meters register(RepositoryCall call) {
+        Timer acquire = Timer.builder("db.connection.acquire")
+                .description("Time waiting for a pooled connection, by the repository method that needed it")
+                .tag("repository", call.repository())
+                .tag("method", call.method())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+        Counter failures = Counter.builder("db.connection.acquire.failures")
+                .description("Connection requests that timed out or failed, by repository method")
+                .tag("repository", call.repository())
+                .tag("method", call.method())
+                .register(meterRegistry);
+        return new Meters(acquire, failures);
+    }
+    
+    /**
+     * Interceptor for a repository proxy that attributes connection requests made
+     * during each call to that repository method
+     */
+    public static MethodInterceptor repositoryCallTagger(Class<?> repositoryInterface) {
+        Map<Method, RepositoryCall> calls = new ConcurrentHashMap<>();
+        return invocation -> {
+            if (CURRENT.get() != null) {
+                return invocation.proceed();
+            }
+            CURRENT.set(calls.computeIfAbsent(invocation.getMethod(),
+                    method -> new RepositoryCall(repositoryInterface.getSimpleName(), method.getName())));
+            try {
+                return invocation.proceed();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+    
+    private record RepositoryCall(String repository, String method) {}
+    
+    private record Meters(Timer acquire, Counter failures) {}
+}
\ No newline at end of file
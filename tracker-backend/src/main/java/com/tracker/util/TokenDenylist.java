@@ -0,0 +1,105 @@
+package com.tracker.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory set of revoked token IDs (jti), plus per-user cutoffs before which every
+ * token of the user is revoked (password reset), checked on every authenticated request.
+ * A lookup is at most two ConcurrentHashMap probes. Each entry is only needed until the
+ * tokens it covers expire, since expired tokens already fail verification, so expired
+ * entries are swept out lazily, at most once per minute, when tokens are revoked.
+ */
+@Component
+public class TokenDenylist {
+    
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${jwt.expiration}")
+    private long accessTokenLifetimeMillis;
+    
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    
+    // userId -> tokens issued before this are revoked (epoch millis)
+    private final Map<Long, Long> notBefore = new ConcurrentHashMap<>();
+    
+    private final AtomicLong nextSweep = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        Gauge.builder("jwt.denylist.size", revoked, Map::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        Gauge.builder("jwt.denylist.users", notBefore, Map::size)
+                .description("Users whose tokens issued before a cutoff are revoked, until those tokens expire")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Whether the token has been revoked, by its jti or by a cutoff for its user.
+     * iat has second precision, so a token issued in the same second as the cutoff is revoked too.
+     */
+    public boolean isRevoked(DecodedToken decodedToken) {
+        if (isRevoked(decodedToken.getId())) {
+            return true;
+        }
+        Long cutoff = decodedToken.getUserId() == null ? null : notBefore.get(decodedToken.getUserId());
+        Date issuedAt = decodedToken.getIssuedAt();
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() <= cutoff);
+    }
+    
+    /**
+     * Whether the token ID has been revoked; tokens without a jti never are
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+    
+    /**
+     * Deny the token ID until its expiry
+     */
+    public void add(String tokenId, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis > now) {
+            revoked.put(tokenId, expiresAtMillis);
+        }
+        sweep(now);
+    }
+    
+    /**
+     * Deny every token of the user issued up to the cutoff, until the last of them expires
+     */
+    public void revokeIssuedBefore(Long userId, long cutoffMillis) {
+        long now = System.currentTimeMillis();
+        if (cutoffMillis + accessTokenLifetimeMillis > now) {
+            notBefore.merge(userId, cutoffMillis, Math::max);
+        }
+        sweep(now);
+    }
+    
+    private void sweep(long now) {
+        long sweepAt = nextSweep.get();
+        if (now >= sweepAt && nextSweep.compareAndSet(sweepAt, now + SWEEP_INTERVAL_MILLIS)) {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            notBefore.values().removeIf(cutoff -> cutoff + accessTokenLifetimeMillis <= now);
+        }
+    }
+    
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,130 @@
+package com.tracker.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already-verified tokens, keyed by a SHA-256 digest of the token.
+ * Entries expire at the token's own exp claim, so a cached token is never
+ * accepted after it would have failed verification.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private TokenDenylist tokenDenylist;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long maximumSize;
+    
+    private Cache<ByteBuffer, DecodedToken> cache;
+    
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+    
+    /**
+     * Return the decoded token from the cache, verifying and caching it on a miss.
+     * Throws JwtException if the token is invalid, expired or revoked.
+     */
+    public DecodedToken getOrDecode(String token) {
+        DecodedToken decodedToken = lookup(token);
+        if (tokenDenylist.isRevoked(decodedToken)) {
+            throw new JwtException("Token has been revoked");
+        }
+        return decodedToken;
+    }
+    
+    private DecodedToken lookup(String token) {
+        if (cache == null) {
+            return jwtUtil.decodeToken(token);
+        }
+        
+        ByteBuffer key = digest(token);
+        DecodedToken decodedToken = cache.getIfPresent(key);
+        
+        // Guard against the window between exp and Caffeine's expiry sweep
+        if (decodedToken != null && decodedToken.isExpired()) {
+            cache.invalidate(key);
+            decodedToken = null;
+        }
+        
+        if (decodedToken == null) {
+            decodedToken = jwtUtil.decodeToken(token);
+            cache.put(key, decodedToken);
+        }
+        return decodedToken;
+    }
+    
+    /**
+     * Drop a token from the cache
+     */
+    public void invalidate(String token) {
+        if (cache != null) {
+            cache.invalidate(digest(token));
+        }
+    }
+    
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Expire each entry at its token's exp claim
+     */
+    private static class TokenExpiry implements Expiry<ByteBuffer, DecodedToken> {
+        
+        @Override
+        public long expireAfterCreate(ByteBuffer key, DecodedToken value, long currentTime) {
+            long remainingMillis = value.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+        
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, DecodedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(ByteBuffer key, DecodedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
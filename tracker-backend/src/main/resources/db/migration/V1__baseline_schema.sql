@@ -0,0 +1,48 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. IF NOT EXISTS lets this run
+-- against a database created that way: spring.flyway.baseline-on-migrate records such a
+-- database at version 0, so this script still applies and only creates what is missing.
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so existing indexes are declared inline here.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    full_name VARCHAR(100) NOT NULL,
+    department VARCHAR(50) NOT NULL,
+    emp_id VARCHAR(20) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    mobile_no VARCHAR(15) NOT NULL,
+    company_email VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_emp_id UNIQUE (emp_id),
+    CONSTRAINT uk_users_company_email UNIQUE (company_email)
+) ENGINE=InnoDB;
+
+-- Access tokens revoked before their expiry (logout)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti VARCHAR(36) NOT NULL,
+    user_id BIGINT,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti),
+    INDEX idx_revoked_tokens_expires_at (expires_at)
+) ENGINE=InnoDB;
+
+-- Refresh tokens, stored as the SHA-256 hash of their value
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    company_email VARCHAR(255) NOT NULL,
+    emp_id VARCHAR(20) NOT NULL,
+    full_name VARCHAR(100) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    used_at DATETIME(6),
+    revoked BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT idx_refresh_tokens_token_hash UNIQUE (token_hash),
+    INDEX idx_refresh_tokens_family_id (family_id),
+    INDEX idx_refresh_tokens_expires_at (expires_at)
+) ENGINE=InnoDB;
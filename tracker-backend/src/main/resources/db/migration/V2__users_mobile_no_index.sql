@@ -0,0 +1,2 @@
+-- findByMobileNo / existsByMobileNo (forgot-password) scanned the whole table
+CREATE INDEX idx_users_mobile_no ON users (mobile_no);
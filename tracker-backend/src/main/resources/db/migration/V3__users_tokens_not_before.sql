@@ -0,0 +1,2 @@
+-- Access tokens issued before this instant are rejected (set by a password reset)
+ALTER TABLE users ADD COLUMN tokens_not_before DATETIME(6);
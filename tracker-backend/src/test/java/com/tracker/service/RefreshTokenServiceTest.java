@@ -0,0 +1,139 @@
+package com.tracker.service;
+
+import com.tracker.dto.AuthResponse;
+import com.tracker.entity.RefreshToken;
+import com.tracker.repository.RefreshTokenRepository;
+import com.tracker.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+    
+    private static final String RAW_TOKEN = "raw-refresh-token";
+    
+    private RefreshTokenService service;
+    
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    private JwtUtil jwtUtil;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.generateToken(anyString(), any(), anyString())).thenReturn("access-token");
+        
+        meterRegistry = new SimpleMeterRegistry();
+        AuthMetrics authMetrics = new AuthMetrics();
+        ReflectionTestUtils.setField(authMetrics, "meterRegistry", meterRegistry);
+        authMetrics.init();
+        
+        service = new RefreshTokenService();
+        ReflectionTestUtils.setField(service, "refreshTokenRepository", refreshTokenRepository);
+        ReflectionTestUtils.setField(service, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(service, "authMetrics", authMetrics);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 2_592_000_000L);
+    }
+    
+    @Test
+    void rotationIssuesANewTokenInTheSameFamily() {
+        RefreshToken stored = stored(false);
+        when(refreshTokenRepository.findByTokenHash(sha256(RAW_TOKEN))).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(1L), any())).thenReturn(1);
+        
+        AuthResponse response = service.rotate(RAW_TOKEN);
+        
+        assertEquals("access-token", response.getToken());
+        assertNotNull(response.getRefreshToken());
+        assertNotEquals(RAW_TOKEN, response.getRefreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        assertEquals(sha256(response.getRefreshToken()), saved.getValue().getTokenHash());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+        assertEquals(1.0, outcome("success"));
+    }
+    
+    @Test
+    void reusedTokenRevokesItsFamily() {
+        // Already exchanged once: the conditional update matches no row
+        RefreshToken stored = stored(false);
+        when(refreshTokenRepository.findByTokenHash(sha256(RAW_TOKEN))).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(1L), any())).thenReturn(0);
+        
+        AuthResponse response = service.rotate(RAW_TOKEN);
+        
+        assertNull(response.getToken());
+        assertEquals("Invalid refresh token", response.getMessage());
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+        verify(jwtUtil, never()).generateToken(anyString(), any(), anyString());
+        assertEquals(1.0, outcome("reused"));
+    }
+    
+    @Test
+    void revokedTokenIsRejectedWithoutBeingUsed() {
+        when(refreshTokenRepository.findByTokenHash(sha256(RAW_TOKEN))).thenReturn(Optional.of(stored(true)));
+        
+        AuthResponse response = service.rotate(RAW_TOKEN);
+        
+        assertNull(response.getToken());
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+        assertEquals(1.0, outcome("bad_credentials"));
+    }
+    
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+        
+        assertNull(service.rotate(RAW_TOKEN).getToken());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+        assertEquals(1.0, outcome("bad_credentials"));
+    }
+    
+    private static RefreshToken stored(boolean revoked) {
+        RefreshToken token = new RefreshToken(sha256(RAW_TOKEN), "family-1", 100L, "alice@x.com", "E100", "Alice",
+                LocalDateTime.now().plusDays(1));
+        token.setId(1L);
+        token.setRevoked(revoked);
+        return token;
+    }
+    
+    private double outcome(String outcome) {
+        return meterRegistry.get("auth.outcome").tag("operation", "refresh").tag("outcome", outcome).counter().count();
+    }
+    
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
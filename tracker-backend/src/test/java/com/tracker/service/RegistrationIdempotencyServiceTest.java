@@ -0,0 +1,126 @@
+package com.tracker.service;
+
+import com.tracker.dto.AuthResponse;
+import com.tracker.dto.UserRegistrationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegistrationIdempotencyServiceTest {
+    
+    private RegistrationIdempotencyService service;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private final AtomicInteger calls = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new RegistrationIdempotencyService();
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(service, "maximumKeys", 100L);
+        service.init();
+    }
+    
+    @Test
+    void duplicateJoinsTheRegistrationInFlight() {
+        CompletableFuture<AuthResponse> pending = new CompletableFuture<>();
+        CompletableFuture<AuthResponse> first = service.execute("key-1", alice(), counting(() -> pending));
+        CompletableFuture<AuthResponse> second = service.execute("key-1", alice(), counting(() -> pending));
+        assertFalse(second.isDone());
+        
+        pending.complete(success());
+        assertEquals("token", first.join().getToken());
+        assertEquals("token", second.join().getToken());
+        assertEquals(1, calls.get());
+        assertEquals(1.0, requests("joined"));
+    }
+    
+    @Test
+    void completedRegistrationIsReplayed() {
+        service.execute("key-1", alice(), counting(() -> CompletableFuture.completedFuture(success()))).join();
+        AuthResponse replay = service.execute("key-1", alice(), counting(() -> CompletableFuture.completedFuture(success()))).join();
+        assertEquals(100L, replay.getUserId());
+        assertEquals(1, calls.get());
+        assertEquals(1.0, requests("replayed"));
+    }
+    
+    @Test
+    void keyReusedWithADifferentBodyIsRejected() {
+        CompletableFuture<AuthResponse> pending = new CompletableFuture<>();
+        service.execute("key-1", alice(), counting(() -> pending));
+        UserRegistrationDto changed = alice();
+        changed.setPassword("secret2");
+        changed.setConfirmPassword("secret2");
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.execute("key-1", changed, counting(() -> pending)));
+        
+        pending.complete(success());
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.execute("key-1", changed, counting(() -> pending)));
+        assertEquals(1, calls.get());
+        assertEquals(2.0, requests("conflict"));
+    }
+    
+    @Test
+    void failedRegistrationIsNotCached() {
+        AuthResponse failure = service.execute("key-1", alice(),
+                counting(() -> CompletableFuture.completedFuture(new AuthResponse("Email already registered")))).join();
+        assertNull(failure.getToken());
+        
+        AuthResponse retry = service.execute("key-1", alice(),
+                counting(() -> CompletableFuture.completedFuture(success()))).join();
+        assertEquals("token", retry.getToken());
+        assertEquals(2, calls.get());
+    }
+    
+    @Test
+    void exceptionalRegistrationIsNotCached() {
+        CompletableFuture<AuthResponse> failed = service.execute("key-1", alice(),
+                counting(() -> CompletableFuture.failedFuture(new IllegalStateException("database down"))));
+        assertThrows(Exception.class, failed::join);
+        
+        assertEquals("token", service.execute("key-1", alice(),
+                counting(() -> CompletableFuture.completedFuture(success()))).join().getToken());
+        assertEquals(2, calls.get());
+    }
+    
+    @Test
+    void differentKeysRunSeparately() {
+        service.execute("key-1", alice(), counting(() -> CompletableFuture.completedFuture(success()))).join();
+        service.execute("key-2", alice(), counting(() -> CompletableFuture.completedFuture(success()))).join();
+        assertEquals(2, calls.get());
+    }
+    
+    private Supplier<CompletableFuture<AuthResponse>> counting(Supplier<CompletableFuture<AuthResponse>> registration) {
+        return () -> {
+            calls.incrementAndGet();
+            return registration.get();
+        };
+    }
+    
+    private double requests(String result) {
+        return meterRegistry.get("auth.idempotency.requests").tag("result", result).counter().count();
+    }
+    
+    private static UserRegistrationDto alice() {
+        return new UserRegistrationDto("Alice", "Engineering", "E100", "secret1", "secret1",
+                "9876543210", "alice@x.com");
+    }
+    
+    private static AuthResponse success() {
+        return new AuthResponse("token", 100L, "Alice", "E100", "alice@x.com");
+    }
+}
@@ -0,0 +1,171 @@
+package com.tracker.service;
+
+import com.tracker.dto.UserProfileDto;
+import com.tracker.repository.UserRepository;
+import com.tracker.util.BloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserExistenceFilterTest {
+    
+    // Rows committed to the users table, as (companyEmail, empId)
+    private final List<Object[]> users = new CopyOnWriteArrayList<>();
+    
+    private UserRepository userRepository;
+    
+    private UserCache userCache;
+    
+    private UserExistenceFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.streamAllLoginKeys()).thenAnswer(invocation -> users.stream());
+        
+        // Reached only when the Bloom filter says "maybe": every such value counts as registered,
+        // so a false result means the filter itself answered negative
+        userCache = mock(UserCache.class);
+        when(userCache.getProfileByEmail(anyString())).thenReturn(Optional.of(new UserProfileDto()));
+        when(userCache.getProfileByEmpId(anyString())).thenReturn(Optional.of(new UserProfileDto()));
+        
+        filter = configure(new UserExistenceFilter());
+    }
+    
+    @Test
+    void loadsExistingUsersAtStartup() {
+        insert("alice@x.com", "E100");
+        filter.init();
+        
+        assertTrue(filter.emailExists("Alice@X.com"));
+        assertTrue(filter.empIdExists("e100"));
+        assertFalse(filter.emailExists("bob@x.com"));
+    }
+    
+    @Test
+    void insertAfterStartupIsVisible() {
+        filter.init();
+        insert("bob@x.com", "E200");
+        filter.add("bob@x.com", "E200");
+        
+        assertTrue(filter.emailExists("bob@x.com"));
+        assertTrue(filter.empIdExists("E200"));
+    }
+    
+    @Test
+    void insertDuringScanReachesTheNewFilters() {
+        insert("alice@x.com", "E100");
+        filter.init();
+        
+        // Bob is committed and added while the rebuild is scanning, after its read of the table
+        when(userRepository.streamAllLoginKeys()).thenAnswer(invocation -> {
+            List<Object[]> snapshot = List.copyOf(users);
+            insert("bob@x.com", "E200");
+            filter.add("bob@x.com", "E200");
+            return snapshot.stream();
+        });
+        filter.rebuild();
+        
+        assertTrue(filter.emailExists("alice@x.com"));
+        assertTrue(filter.emailExists("bob@x.com"));
+        assertTrue(filter.empIdExists("E200"));
+    }
+    
+    @Test
+    void failedRebuildKeepsTheCurrentFilters() {
+        insert("alice@x.com", "E100");
+        filter.init();
+        
+        when(userRepository.streamAllLoginKeys()).thenAnswer(invocation -> {
+            filter.add("bob@x.com", "E200");
+            throw new IllegalStateException("connection lost");
+        });
+        filter.scheduledRebuild();
+        
+        assertTrue(filter.emailExists("alice@x.com"));
+        assertTrue(filter.emailExists("bob@x.com"));
+    }
+    
+    @Test
+    void insertOverlappingTheSwapIsNotLost() throws InterruptedException {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch finishScan = new CountDownLatch(1);
+        Thread rebuild = new Thread(() -> filter.rebuild());
+        
+        // The startup email filter lets the rebuild finish, swap included, while an add is
+        // part-way through: after writing this filter and before writing any other
+        filter = configure(new UserExistenceFilter() {
+            private int created;
+            
+            @Override
+            BloomFilter newFilter() {
+                if (created++ > 0) {
+                    return super.newFilter();
+                }
+                return new BloomFilter(1_000, 0.001) {
+                    @Override
+                    public void put(String value) {
+                        super.put(value);
+                        if (value.equals("bob@x.com")) {
+                            finishScan.countDown();
+                            join(rebuild);
+                        }
+                    }
+                };
+            }
+        });
+        insert("alice@x.com", "E100");
+        filter.init();
+        
+        when(userRepository.streamAllLoginKeys()).thenAnswer(invocation -> {
+            List<Object[]> snapshot = List.copyOf(users);
+            scanning.countDown();
+            finishScan.await();
+            return snapshot.stream();
+        });
+        rebuild.start();
+        scanning.await();
+        
+        insert("bob@x.com", "E200");
+        filter.add("bob@x.com", "E200");
+        
+        assertTrue(filter.emailExists("alice@x.com"));
+        assertTrue(filter.emailExists("bob@x.com"));
+    }
+    
+    private UserExistenceFilter configure(UserExistenceFilter filter) {
+        ReflectionTestUtils.setField(filter, "userRepository", userRepository);
+        ReflectionTestUtils.setField(filter, "userCache", userCache);
+        ReflectionTestUtils.setField(filter, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 100_000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.001);
+        return filter;
+    }
+    
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void insert(String email, String empId) {
+        users.add(new Object[] { email, empId });
+    }
+}
@@ -0,0 +1,53 @@
+package com.tracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    
+    @Test
+    void neverReportsAnAddedValueAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@x.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@x.com"));
+        }
+    }
+    
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        assertFalse(filter.mightContain("alice@x.com"));
+        assertFalse(filter.mightContain(""));
+    }
+    
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% configured; allow for hash quality and sampling noise
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+    
+    @Test
+    void sizesBitsAndHashesFromTheExpectedLoad() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        // m = -n ln p / (ln 2)^2 ~ 9586 bits, rounded up to whole words; k = m/n ln 2 ~ 7
+        assertTrue(filter.getBitCount() >= 9_586 && filter.getBitCount() % 64 == 0);
+        assertEquals(7, filter.getHashCount());
+    }
+}
@@ -0,0 +1,94 @@
+package com.tracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedVirtualThreadExecutorTest {
+    
+    @Test
+    void runsTasksOnVirtualThreads() throws Exception {
+        AtomicBoolean virtual = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 2, 2)) {
+            executor.execute(() -> {
+                virtual.set(Thread.currentThread().isVirtual());
+                done.countDown();
+            });
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue(virtual.get());
+    }
+    
+    @Test
+    void runsAtMostConcurrencyTasksAtOnce() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(20);
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 3, 17)) {
+            for (int i = 0; i < 20; i++) {
+                executor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            Thread.sleep(100);
+            assertEquals(3, running.get());
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(3, peak.get());
+    }
+    
+    @Test
+    void rejectsOnceTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 1, 1)) {
+            Runnable blocked = () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            executor.execute(blocked);
+            executor.execute(blocked);
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(blocked));
+            
+            release.countDown();
+        }
+    }
+    
+    @Test
+    void closeWaitsForSubmittedTasks() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-", 2, 8);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                completed.incrementAndGet();
+            });
+        }
+        executor.close();
+        assertEquals(10, completed.get());
+    }
+}
@@ -0,0 +1,135 @@
+package com.tracker.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OneTimeCodeStoreTest {
+    
+    private OneTimeCodeStore store;
+    
+    @BeforeEach
+    void setUp() {
+        store = newStore(600, 100, 3, 5);
+    }
+    
+    @Test
+    void validCodeChecksWithoutBeingUsedUp() {
+        String code = store.issue("alice@x.com", 1L);
+        assertTrue(code.matches("\\d{6}"));
+        assertEquals(1L, store.check("alice@x.com", code));
+        assertEquals(1L, store.check("alice@x.com", code));
+    }
+    
+    @Test
+    void codeIsBoundToItsKey() {
+        String code = store.issue("alice@x.com", 1L);
+        assertNull(store.check("9876543210", code));
+    }
+    
+    @Test
+    void expiredCodeIsRejected() {
+        store = newStore(0, 100, 3, 5);
+        String code = store.issue("alice@x.com", 1L);
+        assertNull(store.check("alice@x.com", code));
+        assertEquals(0, store.size());
+    }
+    
+    @Test
+    void codeIsDiscardedAfterTooManyWrongGuesses() {
+        String code = store.issue("alice@x.com", 1L);
+        for (int i = 0; i < 3; i++) {
+            assertNull(store.check("alice@x.com", wrong(code)));
+        }
+        assertNull(store.check("alice@x.com", code));
+        assertEquals(0, store.size());
+    }
+    
+    @Test
+    void codeCanOnlyBeConsumedOnce() {
+        String code = store.issue("alice@x.com", 1L);
+        assertEquals(1L, store.consume("alice@x.com", code));
+        assertNull(store.consume("alice@x.com", code));
+        assertNull(store.check("alice@x.com", code));
+    }
+    
+    @Test
+    void reissuingReplacesTheOutstandingCode() {
+        String first = store.issue("alice@x.com", 1L);
+        String second = store.issue("alice@x.com", 1L);
+        assertEquals(1, store.size());
+        if (!first.equals(second)) {
+            assertNull(store.check("alice@x.com", first));
+        }
+        assertEquals(1L, store.check("alice@x.com", second));
+    }
+    
+    @Test
+    void fullStoreRefusesNewKeysButStillReissuesExistingOnes() {
+        store = newStore(600, 2, 3, 5);
+        assertNotNull(store.issue("a@x.com", 1L));
+        assertNotNull(store.issue("b@x.com", 2L));
+        assertNull(store.issue("c@x.com", 3L));
+        assertNotNull(store.issue("a@x.com", 1L));
+        assertEquals(2, store.size());
+    }
+    
+    @Test
+    void failureBudgetSpansReissuesAndIdentifiers() {
+        // 5 failures per user, 3 per code: two codes on different identifiers use it up
+        String byEmail = store.issue("alice@x.com", 1L);
+        for (int i = 0; i < 3; i++) {
+            store.check("alice@x.com", wrong(byEmail));
+        }
+        assertFalse(store.isLocked(1L));
+        
+        String byMobile = store.issue("9876543210", 1L);
+        store.check("9876543210", wrong(byMobile));
+        assertFalse(store.isLocked(1L));
+        store.check("9876543210", wrong(byMobile));
+        
+        assertTrue(store.isLocked(1L));
+        assertNull(store.check("9876543210", byMobile));
+        assertNull(store.issue("alice@x.com", 1L));
+        assertFalse(store.isLocked(2L));
+        assertNotNull(store.issue("bob@x.com", 2L));
+    }
+    
+    @Test
+    void successfulConsumeClearsTheFailureBudget() {
+        String code = store.issue("alice@x.com", 1L);
+        store.check("alice@x.com", wrong(code));
+        store.check("alice@x.com", wrong(code));
+        assertEquals(1L, store.consume("alice@x.com", code));
+        
+        for (int round = 0; round < 2; round++) {
+            String next = store.issue("alice@x.com", 1L);
+            store.check("alice@x.com", wrong(next));
+            store.check("alice@x.com", wrong(next));
+        }
+        assertFalse(store.isLocked(1L));
+    }
+    
+    private static OneTimeCodeStore newStore(long ttlSeconds, int maximumCodes, int maxAttempts, int maxFailuresPerUser) {
+        OneTimeCodeStore store = new OneTimeCodeStore();
+        ReflectionTestUtils.setField(store, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "ttlSeconds", ttlSeconds);
+        ReflectionTestUtils.setField(store, "maximumCodes", maximumCodes);
+        ReflectionTestUtils.setField(store, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(store, "maxFailuresPerUser", maxFailuresPerUser);
+        ReflectionTestUtils.setField(store, "lockoutSeconds", 3600L);
+        store.init();
+        return store;
+    }
+    
+    private static String wrong(String code) {
+        return code.equals("000000") ? "000001" : "000000";
+    }
+}
@@ -0,0 +1,97 @@
+package com.tracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowRateLimiterTest {
+    
+    @Test
+    void admitsUpToTheLimitThenReportsTheWait() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, Duration.ofMinutes(1), 100);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long waitNanos = limiter.tryAcquire("10.0.0.1");
+        assertTrue(waitNanos > 0 && waitNanos <= TimeUnit.MINUTES.toNanos(1), "wait: " + waitNanos);
+    }
+    
+    @Test
+    void rejectedRequestsAreNotCounted() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, Duration.ofMillis(200), 100);
+        assertEquals(0, limiter.tryAcquire("key"));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("key") > 0);
+        }
+        // Two windows later neither window holds a count; had rejections counted, this would still be over
+        sleep(Duration.ofMillis(450));
+        assertEquals(0, limiter.tryAcquire("key"));
+    }
+    
+    @Test
+    void keysHaveSeparateBudgets() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, Duration.ofMinutes(1), 100);
+        assertEquals(0, limiter.tryAcquire("alice@x.com"));
+        assertTrue(limiter.tryAcquire("alice@x.com") > 0);
+        assertEquals(0, limiter.tryAcquire("bob@x.com"));
+        assertEquals(2, limiter.estimatedSize());
+    }
+    
+    @Test
+    void previousWindowStillCountsRightAfterItEnds() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, Duration.ofSeconds(1), 100);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("key"));
+        }
+        // Just into the next window most of the previous one still overlaps the sliding window,
+        // so only a small part of the budget is free again (a fixed window would free all of it)
+        sleep(Duration.ofMillis(1100));
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire("key") == 0) {
+                admitted++;
+            }
+        }
+        assertTrue(admitted < 10, "admitted: " + admitted);
+    }
+    
+    @Test
+    void concurrentCallersNeverExceedTheLimit() throws InterruptedException {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(50, Duration.ofMinutes(1), 100);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limiter.tryAcquire("shared") == 0) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(50, admitted.get());
+    }
+    
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
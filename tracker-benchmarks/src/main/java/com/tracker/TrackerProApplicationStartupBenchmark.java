@@ -0,0 +1,62 @@
+package com.tracker;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to a started application against an existing, up-to-date database (a normal restart),
+ * with Hibernate inspecting and updating the schema versus Flyway checking its history and
+ * Hibernate validating. Every fork is a fresh JVM, so each sample is a cold start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class TrackerProApplicationStartupBenchmark {
+    
+    @Param({"hibernate-update", "flyway-validate"})
+    public String schema;
+    
+    private Path directory;
+    private String url;
+    private ConfigurableApplicationContext context;
+    
+    @Setup(Level.Trial)
+    public void createDatabase() throws IOException {
+        directory = Files.createTempDirectory("tracker-startup");
+        url = "jdbc:h2:file:" + directory.resolve("tracker") + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+    }
+    
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TrackerProApplication.class).profiles("loadtest");
+        if (schema.equals("hibernate-update")) {
+            context = builder.run("--spring.datasource.url=" + url,
+                    "--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update");
+        } else {
+            context = builder.run("--spring.datasource.url=" + url);
+        }
+        return context;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void close() {
+        context.close();
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteDatabase() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.tracker.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for benchmarks.jar. Accepts the usual JMH command line
+ * (e.g. a benchmark regex, -f, -wi, -i) and always attaches the GC profiler
+ * so every result includes gc.alloc.rate and gc.alloc.rate.norm (bytes/op).
+ */
+public class BenchmarkMain {
+    
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
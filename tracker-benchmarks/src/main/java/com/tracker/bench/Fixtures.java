@@ -0,0 +1,66 @@
+package com.tracker.bench;
+
+import com.tracker.config.JwtAuthenticationFilter;
+import com.tracker.service.AuthMetrics;
+import com.tracker.util.JwtKeys;
+import com.tracker.util.JwtUtil;
+import com.tracker.util.TokenDenylist;
+import com.tracker.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Wires the auth components by hand, with the same values as application.properties,
+ * so benchmarks run without a Spring context or a database.
+ */
+public final class Fixtures {
+    
+    public static final String SECRET = "TrYcK3rPr0S3cur3K3yF0rJWTAu7h3n7ic@7i0n2025!@#$%^&*()";
+    public static final long EXPIRATION_MILLIS = 900_000L;
+    
+    private Fixtures() {}
+    
+    /**
+     * Ephemeral ES256 key, as when no keystore is configured
+     */
+    public static JwtKeys jwtKeys() {
+        JwtKeys jwtKeys = new JwtKeys();
+        ReflectionTestUtils.setField(jwtKeys, "keystorePath", "");
+        ReflectionTestUtils.setField(jwtKeys, "legacyHs256Enabled", false);
+        ReflectionTestUtils.invokeMethod(jwtKeys, "init");
+        return jwtKeys;
+    }
+    
+    public static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtKeys", jwtKeys());
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+    
+    public static VerifiedTokenCache verifiedTokenCache(JwtUtil jwtUtil, boolean enabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(cache, "tokenDenylist", new TokenDenylist());
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maximumSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+    
+    public static AuthMetrics authMetrics() {
+        AuthMetrics authMetrics = new AuthMetrics();
+        ReflectionTestUtils.setField(authMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(authMetrics, "init");
+        return authMetrics;
+    }
+    
+    public static JwtAuthenticationFilter jwtAuthenticationFilter(VerifiedTokenCache cache) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", cache);
+        ReflectionTestUtils.setField(filter, "authMetrics", authMetrics());
+        return filter;
+    }
+}
@@ -0,0 +1,31 @@
+package com.tracker.bench.load;
+
+/**
+ * Endpoints the load generator can drive
+ */
+enum Endpoint {
+    LOGIN("login", "POST", "/auth/login"),
+    REGISTER("register", "POST", "/auth/register"),
+    VALIDATE("validate", "POST", "/auth/validate-token"),
+    PROFILE("profile", "GET", "/auth/profile"),
+    HEALTH("health", "GET", "/auth/health");
+    
+    final String label;
+    final String method;
+    final String path;
+    
+    Endpoint(String label, String method, String path) {
+        this.label = label;
+        this.method = method;
+        this.path = path;
+    }
+    
+    static Endpoint fromName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equalsIgnoreCase(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tracker.bench.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and status-code counts for one endpoint.
+ * Latency is measured from the request's scheduled send time, so queueing delay
+ * caused by a slow server is included (no coordinated omission).
+ */
+class EndpointStats {
+    
+    // Nanosecond values from 1 ns to 60 s, 3 significant digits
+    private final Recorder recorder = new Recorder(1, 60_000_000_000L, 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.max(1, Math.min(latencyNanos, 60_000_000_000L)));
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+    
+    void recordFailure(long latencyNanos) {
+        recorder.recordValue(Math.max(1, Math.min(latencyNanos, 60_000_000_000L)));
+        failures.increment();
+    }
+    
+    Histogram snapshot() {
+        return recorder.getIntervalHistogram();
+    }
+    
+    Map<Integer, LongAdder> getStatusCounts() {
+        return statusCounts;
+    }
+    
+    long getFailures() {
+        return failures.sum();
+    }
+}
@@ -0,0 +1,155 @@
+package com.tracker.bench.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are sent on a fixed schedule at the offered
+ * rate whether or not earlier ones have completed, and each latency is measured
+ * from the scheduled send time.
+ */
+class LoadGenerator {
+    
+    private static final int MAX_OUTSTANDING = 20_000;
+    
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final List<String[]> credentials;
+    private final List<String> tokens;
+    private final HttpClient client;
+    private final Endpoint[] weightedEndpoints;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong registrations = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+    
+    LoadGenerator(LoadTestOptions options, String baseUrl, List<String[]> credentials, List<String> tokens) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.credentials = credentials;
+        this.tokens = tokens;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        
+        List<Endpoint> wheel = new ArrayList<>();
+        options.mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(endpoint);
+            }
+            stats.put(endpoint, new EndpointStats());
+        });
+        this.weightedEndpoints = wheel.toArray(new Endpoint[0]);
+    }
+    
+    Map<Endpoint, EndpointStats> getStats() {
+        return stats;
+    }
+    
+    long getDropped() {
+        return dropped.get();
+    }
+    
+    /**
+     * Drive the configured mix for warmup + duration, then wait for stragglers
+     */
+    void run() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)];
+            send(endpoint, scheduled, scheduled >= measureFrom);
+        }
+        
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+    }
+    
+    private void send(Endpoint endpoint, long scheduled, boolean measured) {
+        if (outstanding.incrementAndGet() > MAX_OUTSTANDING) {
+            outstanding.decrementAndGet();
+            if (measured) {
+                dropped.incrementAndGet();
+            }
+            return;
+        }
+        
+        EndpointStats endpointStats = stats.get(endpoint);
+        client.sendAsync(buildRequest(endpoint), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    outstanding.decrementAndGet();
+                    if (!measured) {
+                        return;
+                    }
+                    long latency = System.nanoTime() - scheduled;
+                    if (error != null) {
+                        endpointStats.recordFailure(latency);
+                    } else {
+                        endpointStats.record(latency, response.statusCode());
+                    }
+                });
+    }
+    
+    private HttpRequest buildRequest(Endpoint endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        
+        switch (endpoint) {
+            case LOGIN -> {
+                String[] user = credentials.get(random.nextInt(credentials.size()));
+                builder.POST(json("{\"identifier\":\"" + user[0] + "\",\"password\":\"" + user[1] + "\"}"));
+            }
+            case REGISTER -> {
+                long n = registrations.incrementAndGet();
+                String suffix = runId + Long.toString(n, 36);
+                builder.POST(json(registrationBody("N" + suffix, "new-" + suffix + "@load.test",
+                        String.format("8%09d", n % 1_000_000_000L))));
+            }
+            case VALIDATE -> builder.POST(HttpRequest.BodyPublishers.noBody())
+                    .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+            case PROFILE -> builder.GET()
+                    .header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+            case HEALTH -> builder.GET();
+        }
+        return builder.build();
+    }
+    
+    static String registrationBody(String empId, String email, String mobileNo) {
+        return "{\"fullName\":\"Load Test User\",\"department\":\"Load Testing\",\"empId\":\"" + empId +
+               "\",\"password\":\"" + UserSeeder.PASSWORD + "\",\"confirmPassword\":\"" + UserSeeder.PASSWORD +
+               "\",\"mobileNo\":\"" + mobileNo + "\",\"companyEmail\":\"" + email + "\"}";
+    }
+    
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+}
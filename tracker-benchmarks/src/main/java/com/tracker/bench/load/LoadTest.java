@@ -0,0 +1,149 @@
+package com.tracker.bench.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tracker.TrackerProApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load test for the auth endpoints.
+ *
+ * Without --target it boots the backend in-process with the "loadtest" profile
+ * (H2 in MySQL mode instead of MySQL) and seeds --users accounts. With --target it
+ * drives an already running backend, registering --tokens accounts to log in with.
+ *
+ * Example:
+ *   java -cp benchmarks.jar com.tracker.bench.load.LoadTest --users=100000 --rate=500 \
+ *        --duration=60 --mix=login:40,validate:30,profile:25,register:5
+ */
+public class LoadTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.target;
+        List<String[]> credentials = new ArrayList<>();
+        
+        if (baseUrl.isEmpty()) {
+            context = new SpringApplicationBuilder(TrackerProApplication.class)
+                    .profiles("loadtest")
+                    .run("--spring.threads.virtual.enabled=" + options.virtualThreads,
+                         "--auth.password.bcrypt-strength=" + options.bcryptStrength);
+            Environment environment = context.getEnvironment();
+            baseUrl = "http://localhost:" + environment.getProperty("local.server.port")
+                    + environment.getProperty("server.servlet.context-path", "");
+            
+            UserSeeder.seed(context, options.users);
+            for (int i = 0; i < options.users; i++) {
+                credentials.add(new String[] { i % 2 == 0 ? UserSeeder.empId(i) : UserSeeder.email(i), UserSeeder.PASSWORD });
+            }
+        }
+        
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            if (credentials.isEmpty()) {
+                credentials.addAll(registerAccounts(client, baseUrl, options.tokens));
+            }
+            List<String> tokens = collectTokens(client, baseUrl, credentials, options.tokens);
+            
+            System.out.printf("Driving %s at %d req/s for %ds (+%ds warmup), virtual threads: %s%n",
+                    baseUrl, options.rate, options.durationSeconds, options.warmupSeconds, options.virtualThreads);
+            LoadGenerator generator = new LoadGenerator(options, baseUrl, credentials, tokens);
+            generator.run();
+            report(generator, options);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+    
+    private static List<String[]> registerAccounts(HttpClient client, String baseUrl, int count) throws Exception {
+        List<String[]> accounts = new ArrayList<>();
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        for (int i = 0; i < count; i++) {
+            String empId = "S" + runId + i;
+            String body = LoadGenerator.registrationBody(empId, "seed-" + runId + "-" + i + "@load.test",
+                    String.format("7%09d", ThreadLocalRandom.current().nextInt(1_000_000_000)));
+            HttpResponse<String> response = client.send(jsonPost(baseUrl + "/auth/register", body),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding registration failed: " + response.body());
+            }
+            accounts.add(new String[] { empId, UserSeeder.PASSWORD });
+        }
+        return accounts;
+    }
+    
+    private static List<String> collectTokens(HttpClient client, String baseUrl, List<String[]> credentials, int count)
+            throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count && i < credentials.size(); i++) {
+            String[] user = credentials.get(i);
+            String body = "{\"identifier\":\"" + user[0] + "\",\"password\":\"" + user[1] + "\"}";
+            HttpResponse<String> response = client.send(jsonPost(baseUrl + "/auth/login", body),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode json = MAPPER.readTree(response.body());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Token login failed: " + response.body());
+            }
+            tokens.add(json.path("data").path("token").asText());
+        }
+        return tokens;
+    }
+    
+    private static HttpRequest jsonPost(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+    
+    private static void report(LoadGenerator generator, LoadTestOptions options) {
+        System.out.println();
+        System.out.printf("%-10s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "status codes");
+        for (Map.Entry<Endpoint, EndpointStats> entry : generator.getStats().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram histogram = stats.snapshot();
+            
+            Map<Integer, Long> statuses = new TreeMap<>();
+            stats.getStatusCounts().forEach((status, count) -> statuses.put(status, count.sum()));
+            String statusSummary = statuses.toString() + (stats.getFailures() > 0 ? " io-errors=" + stats.getFailures() : "");
+            
+            System.out.printf("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    entry.getKey().label,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / (double) options.durationSeconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    statusSummary);
+        }
+        if (generator.getDropped() > 0) {
+            System.out.printf("%d requests not sent: more than the outstanding-request cap were in flight%n",
+                    generator.getDropped());
+        }
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tracker.bench.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options for LoadTest, given as --name=value
+ */
+public class LoadTestOptions {
+    
+    /** Base URL of a running backend (e.g. http://host:8080/api); empty boots an embedded one */
+    String target = "";
+    
+    /** Users seeded into the embedded database */
+    int users = 10_000;
+    
+    /** Offered load in requests per second, independent of response times (open loop) */
+    int rate = 200;
+    
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    
+    /** Distinct tokens used by validate-token and profile requests */
+    int tokens = 20;
+    
+    /** BCrypt cost for the embedded app and the seeded hashes */
+    int bcryptStrength = 10;
+    
+    /** Run the embedded app's request handling on virtual threads */
+    boolean virtualThreads = false;
+    
+    /** Relative weight of each endpoint in the request mix */
+    Map<Endpoint, Integer> mix = parseMix("login:40,validate:30,profile:25,register:5");
+    
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "target" -> options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "users" -> options.users = Integer.parseInt(value);
+                case "rate" -> options.rate = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "tokens" -> options.tokens = Integer.parseInt(value);
+                case "bcrypt-strength" -> options.bcryptStrength = Integer.parseInt(value);
+                case "virtual-threads" -> options.virtualThreads = Boolean.parseBoolean(value);
+                case "mix" -> options.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return options;
+    }
+    
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Endpoint.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
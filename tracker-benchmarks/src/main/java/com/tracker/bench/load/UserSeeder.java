@@ -0,0 +1,58 @@
+package com.tracker.bench.load;
+
+import com.tracker.service.UserExistenceFilter;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the embedded database with N users sharing one pre-computed password hash,
+ * so seeding a million rows doesn't cost a million BCrypt rounds.
+ */
+final class UserSeeder {
+    
+    static final String PASSWORD = "LoadTest#1";
+    
+    private static final int BATCH_SIZE = 1_000;
+    private static final String INSERT_SQL =
+            "INSERT INTO users (full_name, department, emp_id, password, mobile_no, company_email, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private UserSeeder() {}
+    
+    static String empId(int index) {
+        return String.format("LT%07d", index);
+    }
+    
+    static String email(int index) {
+        return String.format("lt%07d@load.test", index);
+    }
+    
+    static void seed(ApplicationContext context, int users) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        
+        long start = System.currentTimeMillis();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            batch.add(new Object[] {
+                "Load Test User " + i, "Load Testing", empId(i), passwordHash,
+                String.format("9%09d", i), email(i), createdAt
+            });
+            if (batch.size() == BATCH_SIZE || i == users - 1) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        
+        // Startup filled the existence filters from an empty table
+        context.getBean(UserExistenceFilter.class).rebuild();
+        System.out.printf("Seeded %,d users in %,d ms%n", users, System.currentTimeMillis() - start);
+    }
+}
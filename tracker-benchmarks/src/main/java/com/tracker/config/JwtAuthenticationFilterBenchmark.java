@@ -0,0 +1,48 @@
+package com.tracker.config;
+
+import com.tracker.bench.Fixtures;
+import com.tracker.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtAuthenticationFilter.doFilterInternal,
+ * with the verified-token cache on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    
+    @Param({"true", "false"})
+    public boolean tokenCache;
+    
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+    
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil();
+        filter = Fixtures.jwtAuthenticationFilter(Fixtures.verifiedTokenCache(jwtUtil, tokenCache));
+        authorizationHeader = "Bearer " + jwtUtil.generateToken("alice@example.com", 42L, "Alice Example");
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/auth/profile");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        
+        filter.doFilterInternal(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
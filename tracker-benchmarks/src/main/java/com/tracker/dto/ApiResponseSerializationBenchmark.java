@@ -0,0 +1,44 @@
+package com.tracker.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the ApiResponse bodies returned by login and profile,
+ * using an ObjectMapper configured the way Spring Boot configures the shared one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+    
+    private ObjectMapper objectMapper;
+    private AuthResponse authResponse;
+    private UserProfileDto userProfile;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        authResponse = new AuthResponse("eyJhbGciOiJIUzI1NiJ9.eyJmdWxsTmFtZSI6IkFsaWNlIiwidXNlcklkIjo0Mn0.signature",
+                42L, "Alice Example", "EMP042", "alice@example.com");
+        userProfile = new UserProfileDto(42L, "Alice Example", "Engineering", "EMP042",
+                "9876543210", "alice@example.com", LocalDateTime.now());
+    }
+    
+    @Benchmark
+    public byte[] loginResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Login successful!", authResponse));
+    }
+    
+    @Benchmark
+    public byte[] profileResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Profile retrieved successfully!", userProfile));
+    }
+}
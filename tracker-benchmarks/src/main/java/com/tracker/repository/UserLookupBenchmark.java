@@ -0,0 +1,229 @@
+package com.tracker.repository;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login lookup against a large users table: the old findByEmailOrEmpId query (whole row,
+ * company_email = ? OR emp_id = ?) versus the lookup AuthService now picks from the
+ * identifier's shape (credential columns only, one unique-index probe). Each lookup is one
+ * round trip on a plain JDBC connection, so the numbers are query latency without the
+ * connection pool or Hibernate.
+ * The table is created with the backend's Flyway migrations and seeded up to `rows` users
+ * once; later runs against the same database reuse them. Setup prints EXPLAIN for each
+ * query shape. The default database is an H2 file under java.io.tmpdir; pass
+ * -p url=jdbc:mysql://... -p username=... -p password=... to measure MySQL instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+    
+    private static final int BATCH_SIZE = 1_000;
+    
+    // What the removed JPQL query compiled to: every entity column, either unique key
+    private static final String OR_SQL =
+            "SELECT id, full_name, department, emp_id, password, mobile_no, company_email, created_at, updated_at, " +
+            "tokens_not_before FROM users WHERE company_email = ? OR emp_id = ?";
+    private static final String BY_EMAIL_SQL =
+            "SELECT id, company_email, emp_id, full_name, password FROM users WHERE company_email = ?";
+    private static final String BY_EMP_ID_SQL =
+            "SELECT id, company_email, emp_id, full_name, password FROM users WHERE emp_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO users (full_name, department, emp_id, password, mobile_no, company_email, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    // Empty: an H2 file database in MySQL mode, kept between runs
+    @Param({""})
+    public String url;
+    
+    @Param({"sa"})
+    public String username;
+    
+    @Param({""})
+    public String password;
+    
+    @Param({"1000000"})
+    public int rows;
+    
+    private Connection connection;
+    private PreparedStatement orQuery;
+    private PreparedStatement byEmail;
+    private PreparedStatement byEmpId;
+    
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) throws SQLException {
+        String jdbcUrl = url.isEmpty()
+                ? "jdbc:h2:file:" + Path.of(System.getProperty("java.io.tmpdir"), "tracker-lookup-benchmark")
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE"
+                : url;
+        Flyway.configure().dataSource(jdbcUrl, username, password).load().migrate();
+        
+        connection = DriverManager.getConnection(jdbcUrl, username, password);
+        seed();
+        orQuery = connection.prepareStatement(OR_SQL);
+        byEmail = connection.prepareStatement(BY_EMAIL_SQL);
+        byEmpId = connection.prepareStatement(BY_EMP_ID_SQL);
+        
+        // The plan of the query this trial measures
+        String email = email(rows / 2);
+        String empId = empId(rows / 2);
+        switch (params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1)) {
+            case "orByEmail" -> explain(OR_SQL, email, email);
+            case "orByEmpId" -> explain(OR_SQL, empId, empId);
+            case "shapedByEmail" -> explain(BY_EMAIL_SQL, email);
+            case "shapedByEmpId" -> explain(BY_EMP_ID_SQL, empId);
+            default -> { }
+        }
+    }
+    
+    @Benchmark
+    public long orByEmail() throws SQLException {
+        String identifier = email(randomRow());
+        orQuery.setString(1, identifier);
+        orQuery.setString(2, identifier);
+        return readId(orQuery);
+    }
+    
+    @Benchmark
+    public long orByEmpId() throws SQLException {
+        String identifier = empId(randomRow());
+        orQuery.setString(1, identifier);
+        orQuery.setString(2, identifier);
+        return readId(orQuery);
+    }
+    
+    @Benchmark
+    public long shapedByEmail() throws SQLException {
+        return findCredentials(email(randomRow()));
+    }
+    
+    @Benchmark
+    public long shapedByEmpId() throws SQLException {
+        return findCredentials(empId(randomRow()));
+    }
+    
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        connection.close();
+    }
+    
+    // Same choice as AuthService.findCredentials
+    private long findCredentials(String identifier) throws SQLException {
+        if (identifier.indexOf('@') < 0) {
+            byEmpId.setString(1, identifier);
+            return readId(byEmpId);
+        }
+        byEmail.setString(1, identifier);
+        long id = readId(byEmail);
+        if (id >= 0) {
+            return id;
+        }
+        byEmpId.setString(1, identifier);
+        return readId(byEmpId);
+    }
+    
+    private static long readId(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+    
+    private int randomRow() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+    
+    private void seed() throws SQLException {
+        int existing;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users WHERE emp_id LIKE 'LB%'")) {
+            resultSet.next();
+            existing = resultSet.getInt(1);
+        }
+        if (existing >= rows) {
+            return;
+        }
+        
+        long start = System.currentTimeMillis();
+        // Lookups never check the password, so any hash-shaped value will do
+        String passwordHash = "{bcrypt}$2a$10$" + "x".repeat(53);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (int i = existing; i < rows; i++) {
+                insert.setString(1, "Lookup Benchmark User " + i);
+                insert.setString(2, "Benchmarking");
+                insert.setString(3, empId(i));
+                insert.setString(4, passwordHash);
+                insert.setString(5, String.format("8%09d", i));
+                insert.setString(6, email(i));
+                insert.setTimestamp(7, createdAt);
+                insert.addBatch();
+                if ((i - existing + 1) % BATCH_SIZE == 0 || i == rows - 1) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        
+        // Fresh statistics, or MySQL may plan against an empty table
+        if (connection.getMetaData().getDatabaseProductName().equals("MySQL")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE users");
+            }
+        }
+        System.out.printf("%nSeeded %,d users in %,d ms%n", rows - existing, System.currentTimeMillis() - start);
+    }
+    
+    private void explain(String sql, String... parameters) throws SQLException {
+        System.out.printf("%nEXPLAIN %s%n", sql);
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    StringJoiner row = new StringJoiner(", ");
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        // MySQL returns one row per table with type/key/rows columns; H2 one plan text
+                        String value = resultSet.getString(column);
+                        row.add(metaData.getColumnCount() == 1
+                                ? value.replaceAll("\\s+", " ")
+                                : metaData.getColumnLabel(column) + "=" + value);
+                    }
+                    System.out.println("  " + row);
+                }
+            }
+        }
+    }
+    
+    private static String empId(int index) {
+        return String.format("LB%07d", index);
+    }
+    
+    private static String email(int index) {
+        return String.format("lb%07d@lookup.test", index);
+    }
+}
@@ -0,0 +1,35 @@
+package com.tracker.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt password match (the login cost) at several work factors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BcryptBenchmark {
+    
+    @Param({"8", "10", "12"})
+    public int strength;
+    
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("benchmark-password");
+    }
+    
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchmark-password", hash);
+    }
+}
@@ -0,0 +1,70 @@
+package com.tracker.util;
+
+import com.tracker.bench.Fixtures;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token creation and parsing through JwtUtil (ES256), next to the pre-user-001 HS256
+ * path that derived the HMAC key and built a parser on every call ("legacy*").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private String token;
+    private String legacyToken;
+    
+    @Setup
+    public void setup() {
+        jwtUtil = Fixtures.jwtUtil();
+        token = jwtUtil.generateToken("alice@example.com", 42L, "Alice Example");
+        legacyToken = legacyGenerateToken();
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("alice@example.com", 42L, "Alice Example");
+    }
+    
+    @Benchmark
+    public DecodedToken decodeToken() {
+        return jwtUtil.decodeToken(token);
+    }
+    
+    @Benchmark
+    public String legacyGenerateToken() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 42L);
+        claims.put("fullName", "Alice Example");
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(claims)
+                .subject("alice@example.com")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + Fixtures.EXPIRATION_MILLIS))
+                .signWith(Keys.hmacShaKeyFor(Fixtures.SECRET.getBytes()), Jwts.SIG.HS256)
+                .compact();
+    }
+    
+    @Benchmark
+    public Claims legacyParseToken() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Fixtures.SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(legacyToken)
+                .getPayload();
+    }
+}
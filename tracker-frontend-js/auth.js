@@ -4,11 +4,12 @@ const API_BASE_URL = 'http://localhost:8080/api';
 class AuthService {
     constructor() {
         this.token = localStorage.getItem('tracker_token');
+        this.refreshToken = localStorage.getItem('tracker_refresh_token');
         this.user = JSON.parse(localStorage.getItem('tracker_user') || 'null');
     }
 
-    // API call utility
-    async apiCall(endpoint, method = 'GET', data = null) {
+    // API call utility; an expired access token is renewed once through /auth/refresh
+    async apiCall(endpoint, method = 'GET', data = null, retry = true) {
         const config = {
             method: method,
             headers: {
@@ -28,6 +29,11 @@ class AuthService {
 
         try {
             const response = await fetch(`${API_BASE_URL}${endpoint}`, config);
+            
+            if (response.status === 401 && retry && this.token && await this.refresh()) {
+                return this.apiCall(endpoint, method, data, false);
+            }
+            
             const result = await response.json();
             
             if (!response.ok) {
@@ -75,12 +81,41 @@ class AuthService {
         }
     }
 
+    // Exchange the refresh token for a new token pair; false if the session has ended
+    async refresh() {
+        if (!this.refreshToken) {
+            return false;
+        }
+        
+        try {
+            const response = await fetch(`${API_BASE_URL}/auth/refresh`, {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ refreshToken: this.refreshToken })
+            });
+            const result = await response.json();
+            
+            if (response.ok && result.success && result.data.token) {
+                this.setAuthData(result.data.token, result.data);
+                return true;
+            }
+        } catch (error) {
+            console.error('Token refresh error:', error);
+        }
+        return false;
+    }
+
     // Set authentication data
     setAuthData(token, userData) {
         this.token = token;
-        this.user = userData;
+        this.refreshToken = userData.refreshToken || null;
+        this.user = { ...userData };
+        delete this.user.refreshToken;
         localStorage.setItem('tracker_token', token);
-        localStorage.setItem('tracker_user', JSON.stringify(userData));
+        if (this.refreshToken) {
+            localStorage.setItem('tracker_refresh_token', this.refreshToken);
+        }
+        localStorage.setItem('tracker_user', JSON.stringify(this.user));
     }
 
     // Check if user is authenticated
@@ -93,11 +128,28 @@ class AuthService {
         return this.user;
     }
 
-    // Logout user
-    logout() {
+    // Logout user; revokes the tokens server-side before clearing them locally
+    async logout() {
+        if (this.token) {
+            try {
+                await fetch(`${API_BASE_URL}/auth/logout`, {
+                    method: 'POST',
+                    headers: {
+                        'Content-Type': 'application/json',
+                        'Authorization': `Bearer ${this.token}`
+                    },
+                    body: JSON.stringify({ refreshToken: this.refreshToken })
+                });
+            } catch (error) {
+                console.error('Logout error:', error);
+            }
+        }
+        
         this.token = null;
+        this.refreshToken = null;
         this.user = null;
         localStorage.removeItem('tracker_token');
+        localStorage.removeItem('tracker_refresh_token');
         localStorage.removeItem('tracker_user');
         window.location.href = 'Index.html';
     }
@@ -123,6 +175,28 @@ class AuthService {
             throw error;
         }
     }
+
+    // Check the code sent by forgotPassword (identifier must be the same mobile number or email)
+    async verifyResetCode(identifier, code) {
+        try {
+            const result = await this.apiCall('/auth/verify-reset-code', 'POST', { identifier, code });
+            return result;
+        } catch (error) {
+            console.error('Verify reset code error:', error);
+            throw error;
+        }
+    }
+
+    // Set a new password with the reset code; other sessions are signed out
+    async resetPassword(identifier, code, newPassword, confirmPassword) {
+        try {
+            const result = await this.apiCall('/auth/reset-password', 'POST', { identifier, code, newPassword, confirmPassword });
+            return result;
+        } catch (error) {
+            console.error('Reset password error:', error);
+            throw error;
+        }
+    }
 }
 
 // Initialize AuthService